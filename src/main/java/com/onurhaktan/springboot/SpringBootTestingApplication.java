@@ -1,9 +1,16 @@
 package com.onurhaktan.springboot;
 
+import com.onurhaktan.springboot.config.MetricsConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// the cache advice wraps the transaction advice: cache hits do not open a transaction
+// and cache puts and evictions happen after the commit. @Timed wraps the cache advice, see MetricsConfiguration
+@EnableCaching(order = MetricsConfiguration.TIMED_ORDER + 1)
+@EnableScheduling
 public class SpringBootTestingApplication {
 
 	public static void main(String[] args) {
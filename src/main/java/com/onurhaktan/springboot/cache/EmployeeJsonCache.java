@@ -0,0 +1,204 @@
+package com.onurhaktan.springboot.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onurhaktan.springboot.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Serialized JSON of GET /api/employees/{id}, so a hit costs neither a lookup in the employees cache nor Jackson.
+// Entries are bounded by their size in bytes and expire after a time to live. With off-heap enabled the bytes are
+// kept in direct buffers, which keeps them out of the garbage collector's way at the cost of one copy per hit.
+// A gzip variant is kept next to the plain bytes when the JSON is large enough for compression to pay off.
+// The write methods of EmployeeServiceImpl evict after commit. A load that overlaps a committed write of the same
+// employee is returned but not kept. Misses load through the employees cache, so an entry is only as fresh as the
+// copy found there, see VersionedEmployeeCache.
+@Component
+@Profile("!reactive")
+public class EmployeeJsonCache {
+
+    // writes are counted per stripe of ids, so a load only loses its entry to writes of nearby ids
+    private static final int WRITE_STRIPES = 256;
+
+    private final AtomicLongArray writes = new AtomicLongArray(WRITE_STRIPES);
+
+    private final ObjectMapper objectMapper;
+
+    private final boolean offHeap;
+
+    private final long gzipMinBytes;
+
+    private final Cache<Long, CachedEmployee> cache;
+
+    public EmployeeJsonCache(ObjectMapper objectMapper,
+                             @Value("${employees.json-cache.max-size:32MB}") DataSize maxSize,
+                             @Value("${employees.json-cache.off-heap:false}") boolean offHeap,
+                             @Value("${employees.json-cache.gzip-min-size:1KB}") DataSize gzipMinSize,
+                             @Value("${employees.json-cache.time-to-live:PT10M}") Duration timeToLive) {
+        this.objectMapper = objectMapper;
+        this.offHeap = offHeap;
+        this.gzipMinBytes = gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, CachedEmployee employee) -> employee.weight())
+                // writes through other instances are not evicted here, this bounds how long they go unnoticed
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public CachedEmployee getIfPresent(long id) {
+        return cache.getIfPresent(id);
+    }
+
+    // Serializes the loaded employee and keeps the bytes unless the employee was written while it was loaded.
+    public Optional<CachedEmployee> load(long id, Supplier<Optional<Employee>> loader) {
+        int stripe = stripe(id);
+        long writesBefore = writes.get(stripe);
+        Optional<CachedEmployee> loaded = loader.get().map(this::serialize);
+        // compute holds the entry's lock, so an eviction by a write that commits now is ordered after it
+        loaded.ifPresent(employee -> cache.asMap().compute(id, (key, current) ->
+                writes.get(stripe) == writesBefore ? employee : current));
+        return loaded;
+    }
+
+    // called by every write of a single employee, takes effect when the surrounding transaction commits
+    public void evict(long id) {
+        afterCommit(() -> {
+            writes.incrementAndGet(stripe(id));
+            cache.invalidate(id);
+        });
+    }
+
+    public void evictAll(Collection<Long> ids) {
+        afterCommit(() -> {
+            for (Long id : ids) {
+                writes.incrementAndGet(stripe(id));
+            }
+            cache.invalidateAll(ids);
+        });
+    }
+
+    // for writes that do not know the ids they touched
+    public void evictAll() {
+        afterCommit(() -> {
+            for (int i = 0; i < WRITE_STRIPES; i++) {
+                writes.incrementAndGet(i);
+            }
+            cache.invalidateAll();
+        });
+    }
+
+    private CachedEmployee serialize(Employee employee) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        // not worth a second copy when compression does not make the body smaller
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new CachedEmployee(employee.getVersion(), store(json), gzip == null ? null : store(gzip));
+    }
+
+    private ByteBuffer store(byte[] bytes) {
+        if (!offHeap) {
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static int stripe(long id) {
+        return (int) ((id ^ (id >>> 32)) & (WRITE_STRIPES - 1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public static final class CachedEmployee {
+
+        private final long version;
+
+        private final ByteBuffer json;
+
+        private final ByteBuffer gzip;
+
+        private CachedEmployee(long version, ByteBuffer json, ByteBuffer gzip) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public byte[] getJson() {
+            return bytes(json);
+        }
+
+        public boolean hasGzip() {
+            return gzip != null;
+        }
+
+        // null without a gzip variant
+        public byte[] getGzip() {
+            return gzip == null ? null : bytes(gzip);
+        }
+
+        private int weight() {
+            return json.capacity() + (gzip == null ? 0 : gzip.capacity());
+        }
+
+        // heap entries hand out the cached array itself, direct buffers are copied
+        private static byte[] bytes(ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                return buffer.array();
+            }
+            byte[] bytes = new byte[buffer.capacity()];
+            buffer.duplicate().get(bytes);
+            return bytes;
+        }
+    }
+}
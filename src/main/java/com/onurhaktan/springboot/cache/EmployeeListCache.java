@@ -0,0 +1,109 @@
+package com.onurhaktan.springboot.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
+import com.onurhaktan.springboot.model.Employee;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Serialized JSON of GET /api/employees, served as is until the next write to the table.
+// The write methods of EmployeeServiceImpl call invalidate(), which bumps a table-wide change version after commit;
+// the bytes are only served while they carry the current version. load() reads the version before the list, so a list
+// loaded while a write commits is stored under the old version and never served.
+// Writes that do not go through this instance (other instances, manual SQL) are only picked up after the time to live.
+// Concurrent loads of the same change version share one query and serialization through EmployeeReadCoalescer.
+@Component
+@Profile("!reactive")
+public class EmployeeListCache {
+
+    private final AtomicLong changeVersion = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeReadCoalescer employeeReadCoalescer;
+
+    private final long maxBytes;
+
+    private final long timeToLiveNanos;
+
+    private volatile Entry entry;
+
+    public EmployeeListCache(ObjectMapper objectMapper,
+                             EmployeeReadCoalescer employeeReadCoalescer,
+                             @Value("${employees.list-cache.max-size:64MB}") DataSize maxSize,
+                             @Value("${employees.list-cache.time-to-live:PT5M}") Duration timeToLive) {
+        this.objectMapper = objectMapper;
+        this.employeeReadCoalescer = employeeReadCoalescer;
+        this.maxBytes = maxSize.toBytes();
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    // the cached list, or null when the table has changed since it was stored
+    public CachedList getIfCurrent() {
+        Entry current = entry;
+        if (current == null || current.changeVersion() != changeVersion.get()
+                || System.nanoTime() - current.loadedAt() > timeToLiveNanos) {
+            return null;
+        }
+        return current.list();
+    }
+
+    // Loads and serializes the list and keeps the bytes for the next calls. Lists larger than the maximum size
+    // are returned without being kept, for those the conditional GET is the only shortcut.
+    public CachedList load(Supplier<List<Employee>> loader) {
+        long version = changeVersion.get();
+        // a caller that comes after a write gets a new key and does not join a load that may predate the write
+        return employeeReadCoalescer.load(new ListKey(version), () -> load(version, loader));
+    }
+
+    private CachedList load(long version, Supplier<List<Employee>> loader) {
+        List<Employee> employees = loader.get();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(employees);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        CachedList list = new CachedList(json, EmployeeListVersion.of(employees));
+        // a write committed while loading, these bytes are already stale
+        if (json.length <= maxBytes && version == changeVersion.get()) {
+            entry = new Entry(version, System.nanoTime(), list);
+        }
+        return list;
+    }
+
+    // called by every write to the employees table, takes effect when the surrounding transaction commits
+    public void invalidate() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeVersion.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                changeVersion.incrementAndGet();
+            }
+        });
+    }
+
+    public record CachedList(byte[] json, EmployeeListVersion listVersion) {
+    }
+
+    private record Entry(long changeVersion, long loadedAt, CachedList list) {
+    }
+
+    private record ListKey(long changeVersion) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.onurhaktan.springboot.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Single-flight reads: concurrent callers asking for the same key share the load of the first one instead of each
+// sending the same query. Nothing is kept once the load has finished, caching is left to the callers.
+// A caller inside a transaction loads on its own, it may have written rows another caller's load would not see.
+@Component
+@Profile("!reactive")
+public class EmployeeReadCoalescer implements MeterBinder {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employees.reads.coalesced", coalesced, LongAdder::sum)
+                .description("Employee reads answered by a load another caller already had in flight")
+                .register(registry);
+        Gauge.builder("employees.reads.in-flight", inFlight, Map::size)
+                .description("Employee reads currently being loaded, one per distinct key")
+                .register(registry);
+    }
+
+    // Keys must implement equals and hashCode and be distinct across the kinds of reads. A loader must not load its
+    // own key again, it would wait for itself.
+    @SuppressWarnings("unchecked")
+    public <V> V load(Object key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, load);
+        if (running != null) {
+            coalesced.increment();
+            return (V) join(running);
+        }
+        try {
+            V value = loader.get();
+            load.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            // the waiting callers get the same failure
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.onurhaktan.springboot.cache;
+
+import com.onurhaktan.springboot.model.Employee;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+// The employees cache, a Caffeine cache that keeps the newer of two versions of an employee. A read that missed the
+// cache and loaded the row just before a PUT committed would otherwise put its older copy over the one the PUT put,
+// and the stale copy would be served until it expires.
+public class VersionedEmployeeCache extends CaffeineCache {
+
+    public VersionedEmployeeCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                  boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        getNativeCache().asMap().merge(key, toStoreValue(value), VersionedEmployeeCache::newer);
+    }
+
+    private static Object newer(Object cached, Object value) {
+        if (cached instanceof Employee cachedEmployee && value instanceof Employee employee
+                && cachedEmployee.getVersion() > employee.getVersion()) {
+            return cached;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,32 @@
+package com.onurhaktan.springboot.config;
+
+import com.onurhaktan.springboot.cache.VersionedEmployeeCache;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The Caffeine cache manager Spring Boot would configure from spring.cache.*, except that its caches are
+// VersionedEmployeeCache. Defining it makes CacheAutoConfiguration back off, so the properties are bound here.
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    @Bean
+    public CaffeineCacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new VersionedEmployeeCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+}
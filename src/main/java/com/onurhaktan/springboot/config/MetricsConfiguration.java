@@ -0,0 +1,48 @@
+package com.onurhaktan.springboot.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Makes @Timed work outside of web handlers: EmployeeServiceImpl is timed per method as employees.service.
+// Request latency is recorded by Spring MVC as http.server.requests, Hikari pools as hikaricp.connections.*
+// and Hibernate statistics as hibernate.*; everything is published on /actuator/prometheus.
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    // outside of the cache advice (see SpringBootTestingApplication), so cache hits are timed like every other call
+    public static final int TIMED_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    // TimedAspect as an @Aspect bean would get the lowest precedence from its class and run inside the cache and
+    // transaction advice, so it is applied through an advisor that carries TIMED_ORDER instead
+    @Bean
+    public Advisor timedAdvisor(MeterRegistry meterRegistry) {
+        TimedAspect timedAspect = new TimedAspect(meterRegistry);
+        MethodInterceptor timing = invocation -> {
+            MethodInvocationProceedingJoinPoint joinPoint =
+                    new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation);
+            Class<?> targetClass = AopUtils.getTargetClass(invocation.getThis());
+            if (AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass).isAnnotationPresent(Timed.class)) {
+                return timedAspect.timedMethod(joinPoint);
+            }
+            return timedAspect.timedClass(joinPoint);
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(Timed.class))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(Timed.class)),
+                timing);
+        advisor.setOrder(TIMED_ORDER);
+        return advisor;
+    }
+}
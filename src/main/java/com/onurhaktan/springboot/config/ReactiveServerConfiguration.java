@@ -0,0 +1,18 @@
+package com.onurhaktan.springboot.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// spring-boot-starter-web keeps Tomcat on the classpath, and Spring Boot prefers it over Netty for a reactive
+// application as well. With the reactive profile the server factory is declared here, so WebFlux runs on Netty.
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,61 +1,360 @@
 package com.onurhaktan.springboot.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.EmployeeBatch;
+import com.onurhaktan.springboot.dto.EmployeeFieldsPage;
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.dto.ImportJob;
+import com.onurhaktan.springboot.dto.PendingCreate;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.PreconditionFailedException;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
 import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.EmployeeImportService;
 import com.onurhaktan.springboot.service.EmployeeService;
+import com.onurhaktan.springboot.service.EmployeeWriteBehindService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("api/employees")
 @RequiredArgsConstructor
+// the reactive profile serves api/employees with ReactiveEmployeeController instead
+@Profile("!reactive")
 public class EmployeeController {
 
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final EmployeeService employeeService;
 
+    private final EmployeeImportService employeeImportService;
+
+    private final EmployeeWriteBehindService employeeWriteBehindService;
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeListCache employeeListCache;
+
+    private final EmployeeJsonCache employeeJsonCache;
+
+    @Value("${employees.batch-get.max-ids:100}")
+    private int maxBatchIds;
+
+    @Value("${employees.bulk.max-size:1000}")
+    private int maxBulkSize;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public Employee createEmployee(@RequestBody Employee employee){
         return employeeService.saveEmployee(employee);
     }
 
+    // write-behind create for bursty producers: answers 202 once the employee is queued,
+    // the outcome is available from GET api/employees/async/{trackingId} after the next flush
+    @PostMapping("async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public PendingCreate createEmployeeAsync(@RequestBody Employee employee){
+        return employeeWriteBehindService.enqueue(employee);
+    }
+
+    @GetMapping("async/{trackingId}")
+    public ResponseEntity<PendingCreate> getPendingCreate(@PathVariable("trackingId") String trackingId){
+        return employeeWriteBehindService.getPendingCreate(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("bulk")
+    public List<BulkCreateResult> createEmployees(@RequestBody List<Employee> employees){
+        if (employees.size() > maxBulkSize) {
+            throw new BadRequestException("At most " + maxBulkSize + " employees can be created at once, use import for more");
+        }
+        return employeeService.saveEmployees(employees);
+    }
+
+    @PostMapping("import")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJob importEmployees(@RequestParam("file") MultipartFile file) throws IOException {
+        // the multipart upload is removed when the request ends, so the importer gets its own copy
+        Path csvFile = Files.createTempFile("employees-import-", ".csv");
+        file.transferTo(csvFile);
+        return employeeImportService.startImport(csvFile);
+    }
+
+    @GetMapping("import/{jobId}")
+    public ResponseEntity<ImportJob> getImport(@PathVariable("jobId") String jobId){
+        return employeeImportService.getImport(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("import/{jobId}/rejected")
+    public ResponseEntity<Resource> getRejectedRows(@PathVariable("jobId") String jobId){
+        return employeeImportService.getImport(jobId)
+                .map(job -> ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType("text/csv"))
+                        .<Resource>body(new FileSystemResource(job.getRejectedRowsFile())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Served from the serialized bytes kept by EmployeeListCache until the next write, no query or Jackson work.
+    // When they are not cached, a current If-None-Match is answered with 304 from an aggregate over the primary key.
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<byte[]> getAllEmployees(WebRequest request){
+        EmployeeListCache.CachedList employees = employeeListCache.getIfCurrent();
+        if (employees == null) {
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                // checkNotModified also sets the ETag header. It is taken before the list is loaded, so at worst it
+                // is older than the body and the next poll loads the list once more.
+                if (request.checkNotModified(listETag(employeeService.getEmployeeListVersion()))) {
+                    return null;
+                }
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(employeeListCache.load(employeeService::getAllEmployees).json());
+            }
+            employees = employeeListCache.load(employeeService::getAllEmployees);
+        }
+        // a matching If-None-Match is turned into a 304 by Spring MVC
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(listETag(employees.listVersion()))
+                .body(employees.json());
+    }
+
+    // ids and fields have mappings of their own, the combinations must not match two of them
+    @GetMapping(params = {"size", "!ids", "!fields"})
+    public EmployeePage getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                         @RequestParam("size") int size){
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    // ranked, typo tolerant search, e.g. GET /api/employees/search?q=onur%20hakton
+    @GetMapping(value = "search", params = "q")
+    public List<EmployeeSearchHit> searchEmployeesByText(@RequestParam("q") String text,
+                                                         @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return employeeService.searchEmployeesByText(text, limit);
+    }
+
+    // case-insensitive prefix search, e.g. GET /api/employees/search?lastName=hak
+    @GetMapping("search")
+    public EmployeePage searchEmployees(@RequestParam(value = "firstName", required = false) String firstName,
+                                        @RequestParam(value = "lastName", required = false) String lastName,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "20") int size){
+        return employeeService.searchEmployees(firstName, lastName, cursor, size);
     }
 
+    @GetMapping(params = {"ids", "!fields"})
+    public EmployeeBatch getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds){
+        if (employeeIds.size() > maxBatchIds) {
+            throw new BadRequestException("At most " + maxBatchIds + " ids can be requested at once");
+        }
+        return employeeService.getEmployeesByIds(employeeIds);
+    }
+
+    // paged like ?size=, e.g. GET /api/employees?fields=email&size=50&cursor=...
+    @GetMapping(params = {"fields", "!ids"})
+    public EmployeeFieldsPage getEmployeeFieldsPage(@RequestParam("fields") List<String> fields,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size", defaultValue = "20") int size){
+        return employeeService.getEmployeeFieldsPage(fields, cursor, size);
+    }
+
+    @GetMapping(params = {"ids", "fields"})
+    public EmployeeBatch getEmployeeFieldsByIds(){
+        throw new BadRequestException("fields cannot be combined with ids");
+    }
+
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> exportEmployees(){
+        StreamingResponseBody body = outputStream ->
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(employee));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Served from the bytes kept by EmployeeJsonCache, gzipped when the client accepts it and a gzip variant is kept.
+    // On a miss a current If-None-Match is answered with 304 from the version column, without loading the employee.
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") long employeeId){
-        return employeeService.getEmployeeById(employeeId)
+    public ResponseEntity<byte[]> getEmployeeById(@PathVariable("id") long employeeId, WebRequest request){
+        EmployeeJsonCache.CachedEmployee employee = employeeJsonCache.getIfPresent(employeeId);
+        if (employee == null) {
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+                if (version.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                // sets the ETag header as well, see getAllEmployees
+                if (request.checkNotModified(eTag(version.get()))) {
+                    return null;
+                }
+                return employeeJsonCache.load(employeeId, () -> employeeService.getEmployeeById(employeeId))
+                        .map(loaded -> ResponseEntity.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(loaded.getJson()))
+                        .orElseGet(() -> ResponseEntity.notFound().build());
+            }
+            Optional<EmployeeJsonCache.CachedEmployee> loaded =
+                    employeeJsonCache.load(employeeId, () -> employeeService.getEmployeeById(employeeId));
+            if (loaded.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            employee = loaded.get();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (employee.hasGzip()) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                // a different encoding must not share the strong ETag; the weak one still matches If-None-Match
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .eTag("W/" + eTag(employee.getVersion()))
+                        .body(employee.getGzip());
+            }
+        }
+        // a matching If-None-Match is turned into a 304 by Spring MVC
+        return response.eTag(eTag(employee.getVersion())).body(employee.getJson());
+    }
+
+    @GetMapping(value = "{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(@PathVariable("id") long employeeId,
+                                                                     @RequestParam("fields") List<String> fields){
+        return employeeService.getEmployeeFieldsById(employeeId, fields)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // With If-Match: "<version>" the update is a single compare-and-set statement, no read before the write;
+    // 412 when the employee has changed since that version. Without it the last write wins.
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") long employeeId,
-                                                   @RequestBody Employee employee){
-        return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee ->{
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-
-                    Employee updatedEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updatedEmployee, HttpStatus.OK);
-                })
+                                                   @RequestBody Employee employee,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            return employeeService.updateEmployee(employeeId, parseETag(ifMatch), employee)
+                    .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee.getVersion())).body(updatedEmployee))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+        // the service compares with the current row inside its transaction and skips the write when nothing changed
+        Employee changedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+        return employeeService.updateEmployee(changedEmployee)
+                .map(updatedEmployee -> ResponseEntity.ok().eTag(eTag(updatedEmployee.getVersion())).body(updatedEmployee))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    // only the fields present in the body are changed; answers 204 without reading the employee back
+    @PatchMapping("{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable("id") long employeeId,
+                                              @RequestBody Employee employee){
+        return employeeService.patchEmployee(employeeId, employee)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<String> deleteEmployee(@PathVariable("id") long employeeId){
 
-        employeeService.deleteEmployee(employeeId);
+        try {
+            employeeService.deleteEmployee(employeeId);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
 
         return new ResponseEntity<>("Employee deleted succesfully", HttpStatus.OK);
 
     }
+
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<String> deleteEmployees(@RequestParam("ids") List<Long> employeeIds){
+        if (employeeIds.size() > maxBatchIds) {
+            throw new BadRequestException("At most " + maxBatchIds + " employees can be deleted at once");
+        }
+
+        int deleted = employeeService.deleteEmployees(employeeIds);
+
+        return new ResponseEntity<>(deleted + " employees deleted succesfully", HttpStatus.OK);
+    }
+
+    @DeleteMapping(params = "lastName")
+    public ResponseEntity<String> deleteEmployeesByLastName(@RequestParam("lastName") String lastName){
+
+        int deleted = employeeService.deleteEmployeesByLastName(lastName);
+
+        return new ResponseEntity<>(deleted + " employees deleted succesfully", HttpStatus.OK);
+    }
+
+    // strong ETag of a single employee: its version
+    public static String eTag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static String listETag(EmployeeListVersion version) {
+        return "\"" + version.count() + "-" + version.maxId() + "-" + version.versionSum() + "\"";
+    }
+
+    // true unless gzip is missing from Accept-Encoding or refused with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // If-Match is compared strongly, so a weak ETag, a list or anything not issued by eTag() cannot match
+    private static long parseETag(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value.substring(1, value.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the precondition failure
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version: " + ifMatch);
+    }
 }
@@ -0,0 +1,110 @@
+package com.onurhaktan.springboot.controller;
+
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.ReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Same api/employees contract as EmployeeController for the CRUD endpoints and the ?size= pages, served by WebFlux
+// on R2DBC. Without ?size= the list is streamed row by row rather than served from a cached JSON body.
+// Active with the "reactive" profile, which also switches the application to a reactive web server.
+@RestController
+@RequestMapping("api/employees")
+@RequiredArgsConstructor
+@Profile("reactive")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @Value("${employees.batch-get.max-ids:100}")
+    private int maxBatchIds;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee){
+        return employeeService.saveEmployee(employee);
+    }
+
+    // streamed as a JSON array, or one employee per line with Accept: application/x-ndjson.
+    // Rows are read from the database as fast as the client consumes them.
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    // same pages and cursors as EmployeeController.getEmployeesPage
+    @GetMapping(params = "size")
+    public Mono<EmployeePage> getEmployeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                               @RequestParam("size") int size){
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    // WebFlux answers a matching If-None-Match with 304 on its own once the ETag is set
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") long employeeId){
+        return employeeService.getEmployeeById(employeeId)
+                .map(employee -> ResponseEntity.ok().eTag(EmployeeController.eTag(employee.getVersion())).body(employee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("{id}")
+    public Mono<ResponseEntity<Employee>> updateEmployee(@PathVariable("id") long employeeId,
+                                                         @RequestBody Employee employee){
+        // the service compares with the current row and skips the write when nothing changed
+        Employee changedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+        return employeeService.updateEmployee(changedEmployee)
+                .map(updatedEmployee -> ResponseEntity.ok()
+                        .eTag(EmployeeController.eTag(updatedEmployee.getVersion()))
+                        .body(updatedEmployee))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ResponseEntity<Void>> patchEmployee(@PathVariable("id") long employeeId,
+                                                    @RequestBody Employee employee){
+        return employeeService.patchEmployee(employeeId, employee)
+                .map(patched -> patched
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") long employeeId){
+        return employeeService.deleteEmployee(employeeId)
+                .thenReturn(new ResponseEntity<>("Employee deleted succesfully", HttpStatus.OK))
+                .onErrorResume(ResourceNotFoundException.class,
+                        e -> Mono.just(new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND)));
+    }
+
+    @DeleteMapping(params = "ids")
+    public Mono<ResponseEntity<String>> deleteEmployees(@RequestParam("ids") List<Long> employeeIds){
+        if (employeeIds.size() > maxBatchIds) {
+            return Mono.error(new BadRequestException("At most " + maxBatchIds + " employees can be deleted at once"));
+        }
+        return employeeService.deleteEmployees(employeeIds)
+                .map(deleted -> new ResponseEntity<>(deleted + " employees deleted succesfully", HttpStatus.OK));
+    }
+
+    @DeleteMapping(params = "lastName")
+    public Mono<ResponseEntity<String>> deleteEmployeesByLastName(@RequestParam("lastName") String lastName){
+        return employeeService.deleteEmployeesByLastName(lastName)
+                .map(deleted -> new ResponseEntity<>(deleted + " employees deleted succesfully", HttpStatus.OK));
+    }
+}
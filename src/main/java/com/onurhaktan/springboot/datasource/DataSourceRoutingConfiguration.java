@@ -0,0 +1,92 @@
+package com.onurhaktan.springboot.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Replaces the auto-configured data source with primary + replica pools when
+// employees.datasource.routing.enabled=true. The primary uses the spring.datasource.* settings.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "employees.datasource.routing.enabled", havingValue = "true")
+@Profile("!reactive")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties dataSourceProperties,
+            @Value("${employees.datasource.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${employees.datasource.routing.replica-username:${spring.datasource.username:}}") String replicaUsername,
+            @Value("${employees.datasource.routing.replica-password:${spring.datasource.password:}}") String replicaPassword,
+            @Value("${employees.datasource.routing.read-your-writes-window:PT2S}") Duration readYourWritesWindow,
+            @Value("${employees.datasource.routing.read-your-writes-scope:client}")
+            ReplicaRoutingDataSource.ReadYourWritesScope readYourWritesScope,
+            @Value("${employees.datasource.routing.replica-connection-timeout:PT0.5S}") Duration replicaConnectionTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = replicaPool("replica-" + (i + 1), replicaUrls.get(i).trim(),
+                    replicaUsername, replicaPassword, replicaConnectionTimeout);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        // the pools are not beans, so the Hikari metrics auto-configuration does not see them
+        meterRegistry.ifAvailable(registry -> {
+            MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(registry);
+            primary.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.values().forEach(replica -> ((HikariDataSource) replica).setMetricsTrackerFactory(metricsTrackerFactory));
+        });
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesWindow, readYourWritesScope);
+    }
+
+    // A replica that is down at startup must not prevent the application from starting, and one that stops answering
+    // must not hold a read for Hikari's default 30 s before it fails over to the primary.
+    // Hikari does not accept a connection timeout below 250 ms.
+    static HikariDataSource replicaPool(String name, String url, String username, String password,
+                                        Duration connectionTimeout) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        replica.setPoolName(name);
+        replica.setReadOnly(true);
+        replica.setInitializationFailTimeout(-1);
+        replica.setConnectionTimeout(connectionTimeout.toMillis());
+        return replica;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "employees.datasource.routing.read-your-writes-scope", havingValue = "client",
+            matchIfMissing = true)
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
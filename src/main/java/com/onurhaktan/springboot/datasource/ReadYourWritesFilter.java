@@ -0,0 +1,82 @@
+package com.onurhaktan.springboot.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// Read-your-writes per client for ReplicaRoutingDataSource: a committed write sets a cookie with the time until which
+// the client's reads go to the primary, and each request binds that time to its thread. Other clients keep reading
+// from the replicas. The time is wall-clock so it is understood by every instance, clock skew between instances
+// shortens or lengthens the window accordingly. A client can only make its own reads go to the primary with it.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "primary-reads-until";
+
+    private static final ThreadLocal<Client> CURRENT = new ThreadLocal<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CURRENT.set(new Client(primaryReadsUntil(request), response));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    // false outside of a request, background work has no client to read its writes
+    static boolean readsFromPrimary() {
+        Client client = CURRENT.get();
+        return client != null && System.currentTimeMillis() < client.primaryReadsUntil;
+    }
+
+    // committed is false while the write transaction is still running, the cookie is only sent once it has committed
+    static void markWrite(Duration window, boolean committed) {
+        Client client = CURRENT.get();
+        if (client == null) {
+            return;
+        }
+        client.primaryReadsUntil = System.currentTimeMillis() + window.toMillis();
+        if (committed && !client.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(client.primaryReadsUntil));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds() + 1));
+            client.response.addCookie(cookie);
+        }
+    }
+
+    private static long primaryReadsUntil(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static final class Client {
+
+        private long primaryReadsUntil;
+
+        private final HttpServletResponse response;
+
+        private Client(long primaryReadsUntil, HttpServletResponse response) {
+            this.primaryReadsUntil = primaryReadsUntil;
+            this.response = response;
+        }
+    }
+}
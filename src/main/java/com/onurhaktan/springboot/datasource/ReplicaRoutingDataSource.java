@@ -0,0 +1,197 @@
+package com.onurhaktan.springboot.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to the replicas (round robin) and everything else to the primary.
+// The lookup key is read from the transaction synchronization, so this must sit behind a LazyConnectionDataSourceProxy:
+// the transaction managers ask for a connection before the read-only flag of the new transaction is published.
+// After a write commits, reads stay on the primary for the read-your-writes window so replication lag is not visible.
+// With the CLIENT scope only the reads of the client that wrote do (see ReadYourWritesFilter), with GLOBAL every read
+// of this instance does, which is simpler but sends all reads to the primary while writes keep coming in.
+// Replicas that fail a health check or a connection attempt are skipped until the next successful health check.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    public enum ReadYourWritesScope {
+        GLOBAL,
+        CLIENT
+    }
+
+    private final Duration readYourWritesWindow;
+
+    private final ReadYourWritesScope readYourWritesScope;
+
+    private final Set<String> downReplicas = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile long primaryReadsUntil = System.nanoTime();
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration readYourWritesWindow) {
+        this(primary, replicas, readYourWritesWindow, ReadYourWritesScope.GLOBAL);
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration readYourWritesWindow,
+                                    ReadYourWritesScope readYourWritesScope) {
+        this.primary = primary;
+        this.replicas = Map.copyOf(replicas);
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.readYourWritesScope = readYourWritesScope;
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    // Runs reads that must not see replication lag on the primary, e.g. rebuilding an index that later writes are
+    // only added to. Unlike a read-write transaction it does not count as a write for read-your-writes.
+    // Has no effect when routing is disabled, everything is read from the primary then.
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean outer = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARY_READS.get() != null) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                markWrite(false);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        markWrite(true);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (readsFromPrimary()) {
+            return PRIMARY;
+        }
+
+        List<String> healthyReplicas = new ArrayList<>(replicas.size());
+        for (String name : replicas.keySet()) {
+            if (!downReplicas.contains(name)) {
+                healthyReplicas.add(name);
+            }
+        }
+        if (healthyReplicas.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthyReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), healthyReplicas.size()));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            markDown((String) key, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employees.datasource.routing.health-check-interval:PT10S}")
+    public void checkReplicas() {
+        replicas.forEach((name, replica) -> {
+            try (Connection connection = replica.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (downReplicas.remove(name)) {
+                    log.info("Replica {} is healthy again, routing reads to it", name);
+                }
+            } catch (SQLException e) {
+                markDown(name, e);
+            }
+        });
+    }
+
+    boolean isHealthy(String replica) {
+        return !downReplicas.contains(replica);
+    }
+
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.values().forEach(ReplicaRoutingDataSource::closeQuietly);
+    }
+
+    private boolean readsFromPrimary() {
+        if (readYourWritesScope == ReadYourWritesScope.CLIENT) {
+            return ReadYourWritesFilter.readsFromPrimary();
+        }
+        return System.nanoTime() - primaryReadsUntil < 0;
+    }
+
+    private void markWrite(boolean committed) {
+        if (readYourWritesScope == ReadYourWritesScope.CLIENT) {
+            ReadYourWritesFilter.markWrite(readYourWritesWindow, committed);
+        } else {
+            primaryReadsUntil = System.nanoTime() + readYourWritesWindow.toNanos();
+        }
+    }
+
+    private void markDown(String replica, SQLException cause) {
+        if (downReplicas.add(replica)) {
+            log.warn("Replica {} is unavailable, routing its reads to the primary: {}", replica, cause.getMessage());
+        }
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.onurhaktan.springboot.dto;
+
+import com.onurhaktan.springboot.model.Employee;
+
+// Outcome of one element of a bulk create request; index is the position in the request array.
+public record BulkCreateResult(int index, Status status, Employee employee, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    public static BulkCreateResult created(int index, Employee employee) {
+        return new BulkCreateResult(index, Status.CREATED, employee, null);
+    }
+
+    public static BulkCreateResult rejected(int index, Status status, Employee employee, String message) {
+        return new BulkCreateResult(index, status, employee, message);
+    }
+}
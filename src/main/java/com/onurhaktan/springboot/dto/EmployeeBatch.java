@@ -0,0 +1,9 @@
+package com.onurhaktan.springboot.dto;
+
+import com.onurhaktan.springboot.model.Employee;
+
+import java.util.List;
+
+// Result of a multi-get: the found employees in request order and the requested ids that do not exist.
+public record EmployeeBatch(List<Employee> employees, List<Long> missingIds) {
+}
@@ -0,0 +1,9 @@
+package com.onurhaktan.springboot.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// One slice of a sparse fieldset listing, ordered by id like EmployeePage.
+// nextCursor is null when there are no more rows after this page.
+public record EmployeeFieldsPage(List<Map<String, Object>> content, String nextCursor) {
+}
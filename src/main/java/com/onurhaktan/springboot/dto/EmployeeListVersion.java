@@ -0,0 +1,20 @@
+package com.onurhaktan.springboot.dto;
+
+import com.onurhaktan.springboot.model.Employee;
+
+import java.util.List;
+
+// Changes whenever an employee is created, updated or deleted; the basis of the ETag of the employee list.
+public record EmployeeListVersion(long count, long maxId, long versionSum) {
+
+    // the same fingerprint computed from an already loaded list, saves the aggregate query
+    public static EmployeeListVersion of(List<Employee> employees) {
+        long maxId = 0;
+        long versionSum = 0;
+        for (Employee employee : employees) {
+            maxId = Math.max(maxId, employee.getId());
+            versionSum += employee.getVersion();
+        }
+        return new EmployeeListVersion(employees.size(), maxId, versionSum);
+    }
+}
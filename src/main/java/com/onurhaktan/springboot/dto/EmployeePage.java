@@ -0,0 +1,10 @@
+package com.onurhaktan.springboot.dto;
+
+import com.onurhaktan.springboot.model.Employee;
+
+import java.util.List;
+
+// One slice of the employees table, ordered by id.
+// nextCursor is null when there are no more rows after this page.
+public record EmployeePage(List<Employee> content, String nextCursor) {
+}
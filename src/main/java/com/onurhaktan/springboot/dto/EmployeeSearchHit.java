@@ -0,0 +1,7 @@
+package com.onurhaktan.springboot.dto;
+
+import com.onurhaktan.springboot.model.Employee;
+
+// One full-text search result, higher scores are better matches.
+public record EmployeeSearchHit(Employee employee, float score) {
+}
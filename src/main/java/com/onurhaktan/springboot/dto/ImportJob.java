@@ -0,0 +1,88 @@
+package com.onurhaktan.springboot.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of one CSV import. The counters are updated by the pipeline threads while the job runs.
+public class ImportJob {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final Path rejectedRowsFile;
+    private final AtomicLong parsedRows = new AtomicLong();
+    private final AtomicLong rejectedRows = new AtomicLong();
+    private final AtomicLong writtenRows = new AtomicLong();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+
+    public ImportJob(String id, Path rejectedRowsFile) {
+        this.id = id;
+        this.rejectedRowsFile = rejectedRowsFile;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getParsedRows() {
+        return parsedRows.get();
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows.get();
+    }
+
+    public long getWrittenRows() {
+        return writtenRows.get();
+    }
+
+    @JsonIgnore
+    public Path getRejectedRowsFile() {
+        return rejectedRowsFile;
+    }
+
+    @JsonIgnore
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    public void rowParsed() {
+        parsedRows.incrementAndGet();
+    }
+
+    public void rowRejected() {
+        rejectedRows.incrementAndGet();
+    }
+
+    public void rowsWritten(int count) {
+        writtenRows.addAndGet(count);
+    }
+
+    public void complete() {
+        status = Status.COMPLETED;
+        completion.complete(null);
+    }
+
+    public void fail(Throwable cause) {
+        error = cause.getMessage();
+        status = Status.FAILED;
+        completion.completeExceptionally(cause);
+    }
+}
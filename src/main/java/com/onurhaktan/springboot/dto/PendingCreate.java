@@ -0,0 +1,67 @@
+package com.onurhaktan.springboot.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.concurrent.CompletableFuture;
+
+// Outcome of one asynchronous create. QUEUED until the write-behind flusher has written the batch it is part of.
+public class PendingCreate {
+
+    public enum Status {
+        QUEUED,
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+
+    private final String id;
+    private final CompletableFuture<PendingCreate> completion = new CompletableFuture<>();
+    private volatile Status status = Status.QUEUED;
+    private volatile Long employeeId;
+    private volatile String message;
+
+    public PendingCreate(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @JsonIgnore
+    public CompletableFuture<PendingCreate> getCompletion() {
+        return completion;
+    }
+
+    public void created(long employeeId) {
+        this.employeeId = employeeId;
+        finish(Status.CREATED, null);
+    }
+
+    public void rejected(BulkCreateResult.Status reason, String message) {
+        finish(reason == BulkCreateResult.Status.DUPLICATE ? Status.DUPLICATE : Status.INVALID, message);
+    }
+
+    public void fail(String message) {
+        finish(Status.FAILED, message);
+    }
+
+    private void finish(Status status, String message) {
+        this.message = message;
+        this.status = status;
+        completion.complete(this);
+    }
+}
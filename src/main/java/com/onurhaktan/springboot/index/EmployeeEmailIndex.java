@@ -0,0 +1,146 @@
+package com.onurhaktan.springboot.index;
+
+import com.onurhaktan.springboot.datasource.ReplicaRoutingDataSource;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// In-memory membership index of the stored emails, used to skip the duplicate check query for new emails.
+// The Bloom filter answers "definitely not stored" without a query; only probable hits go to findByEmail.
+// Deleted emails cannot be removed from a Bloom filter, so the filter is rebuilt from the table periodically.
+// Until the first build finishes every email is a probable hit, which is the same as not having the index.
+// Emails are lowercased before hashing, the email column compares them case-insensitively.
+@Component
+@Profile("!reactive")
+public class EmployeeEmailIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final double falsePositiveRate;
+
+    private final Counter negatives;
+
+    private final Counter truePositives;
+
+    private final Counter falsePositives;
+
+    private volatile EmailBloomFilter filter;
+
+    // filter being built by rebuild(), receives the emails added while the table is scanned
+    private volatile EmailBloomFilter nextFilter;
+
+    public EmployeeEmailIndex(EmployeeRepository employeeRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${employees.email-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.falsePositiveRate = falsePositiveRate;
+
+        this.negatives = Counter.builder("employees.email.index.lookups")
+                .tag("result", "negative")
+                .description("Duplicate checks answered by the email index without a query")
+                .register(meterRegistry);
+        this.truePositives = Counter.builder("employees.email.index.lookups")
+                .tag("result", "true-positive")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("employees.email.index.lookups")
+                .tag("result", "false-positive")
+                .register(meterRegistry);
+        Gauge.builder("employees.email.index.false.positive.rate", this, EmployeeEmailIndex::observedFalsePositiveRate)
+                .description("Share of checks for new emails that still needed a query")
+                .register(meterRegistry);
+        Gauge.builder("employees.email.index.expected.false.positive.rate", this, EmployeeEmailIndex::expectedFalsePositiveRate)
+                .description("False positive rate implied by the current fill of the Bloom filter")
+                .register(meterRegistry);
+    }
+
+    // true when an employee with this email is stored; queries the database only for probable hits
+    public boolean isRegistered(String email) {
+        EmailBloomFilter current = filter;
+        if (current != null && !current.mightContain(key(email))) {
+            negatives.increment();
+            return false;
+        }
+
+        boolean registered = employeeRepository.findByEmail(email).isPresent();
+        if (current != null) {
+            (registered ? truePositives : falsePositives).increment();
+        }
+        return registered;
+    }
+
+    // true unless the email is definitely not stored
+    public boolean mightBeRegistered(String email) {
+        EmailBloomFilter current = filter;
+        return current == null || current.mightContain(key(email));
+    }
+
+    public void add(String email) {
+        String key = key(email);
+        EmailBloomFilter current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        EmailBloomFilter next = nextFilter;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    // Reads from the primary: an email a lagging replica does not have yet would be missing from the new filter,
+    // and only the emails added after the rebuild started are put into it on the side.
+    @Scheduled(initialDelayString = "PT0S", fixedDelayString = "${employees.email-index.rebuild-interval:PT1H}")
+    public void rebuild() {
+        long started = System.nanoTime();
+        EmailBloomFilter next = new EmailBloomFilter(
+                Math.max(ReplicaRoutingDataSource.onPrimary(employeeRepository::count) * 2, 1024), falsePositiveRate);
+        nextFilter = next;
+        try {
+            ReplicaRoutingDataSource.onPrimary(() -> {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                        emails.forEach(email -> next.put(key(email)));
+                    }
+                });
+                return null;
+            });
+            filter = next;
+            log.info("Rebuilt employee email index in {} ms", (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            nextFilter = null;
+        }
+    }
+
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    double observedFalsePositiveRate() {
+        double falsePositiveCount = falsePositives.count();
+        double newEmails = negatives.count() + falsePositiveCount;
+        return newEmails == 0 ? 0 : falsePositiveCount / newEmails;
+    }
+
+    double expectedFalsePositiveRate() {
+        EmailBloomFilter current = filter;
+        return current == null ? 1 : current.expectedFalsePositiveRate();
+    }
+}
@@ -0,0 +1,435 @@
+package com.onurhaktan.springboot.index;
+
+import com.onurhaktan.springboot.datasource.ReplicaRoutingDataSource;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Embedded Lucene index over firstName, lastName and email for ranked, typo tolerant search.
+// It lives in memory and is rebuilt from the table at startup; the service keeps it in sync on every write,
+// changes are applied after the surrounding transaction commits so rolled back writes never show up.
+// Stored fields hold the whole employee, so a search never touches the database.
+// Searches see changes after at most refresh-interval, a background thread reopens the searcher instead of every
+// write doing it.
+@Component
+@Profile("!reactive")
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final String ID = "id";
+
+    private static final String FIRST_NAME = "firstName";
+
+    private static final String LAST_NAME = "lastName";
+
+    private static final String EMAIL = "email";
+
+    // lowercased email as a single term, a word with an @ in the search text has to match it exactly
+    private static final String EMAIL_EXACT = "emailExact";
+
+    // normalized last name as a single term, for deleteEmployeesByLastName
+    private static final String LAST_NAME_EXACT = "lastNameExact";
+
+    // number of the rebuild that wrote the document or of the one running when a write did, not stored
+    private static final String REBUILD = "rebuild";
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final List<String> NAME_FIELDS = List.of(FIRST_NAME, LAST_NAME);
+
+    private static final int FUZZY_PREFIX_LENGTH = 2;
+
+    // a fuzzy term is rewritten into at most this many index terms, the closest ones
+    private static final int MAX_FUZZY_EXPANSIONS = 5;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private final Directory directory = new ByteBuffersDirectory();
+
+    private final IndexWriter writer;
+
+    private final SearcherManager searcherManager;
+
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+    // sequence number of the latest change, awaitRefresh waits until a searcher includes it
+    private final AtomicLong lastChange = new AtomicLong();
+
+    private volatile long rebuildNumber;
+
+    // rows written while a rebuild runs, null otherwise
+    private volatile RebuildSkips rebuildSkips;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${employees.search-index.refresh-interval:PT1S}") Duration refreshInterval) {
+        this.employeeRepository = employeeRepository;
+        try {
+            this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // a waiting awaitRefresh reopens right away, otherwise changes are picked up once per refresh interval
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                refreshInterval.toNanos() / 1e9, 0);
+        reopenThread.setName("employee-search-index-refresh");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+    }
+
+    // Words are combined with AND. A word with an @ matches the email exactly, any other word matches a first or
+    // last name exactly or within the allowed edit distance; the last one also as a prefix, for search as you type.
+    // Prefix and fuzzy queries are kept off the email, a million distinct emails made them the bulk of the cost.
+    public List<EmployeeSearchHit> search(String text, int limit) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> names = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (word.indexOf('@') >= 0) {
+                query.add(new TermQuery(new Term(EMAIL_EXACT, word.toLowerCase(Locale.ROOT))), BooleanClause.Occur.MUST);
+            } else {
+                names.addAll(analyze(word));
+            }
+        }
+        for (int i = 0; i < names.size(); i++) {
+            query.add(nameQuery(names.get(i), i == names.size() - 1), BooleanClause.Occur.MUST);
+        }
+        BooleanQuery built = query.build();
+        if (built.clauses().isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<EmployeeSearchHit> hits = new ArrayList<>();
+                // one reader for all hits, a new one per hit costs more than the query itself
+                StoredFields storedFields = searcher.storedFields();
+                for (ScoreDoc scoreDoc : searcher.search(built, limit).scoreDocs) {
+                    hits.add(new EmployeeSearchHit(toEmployee(storedFields.document(scoreDoc.doc)), scoreDoc.score));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void index(Employee employee) {
+        afterCommit(skips -> skips.ids.add(employee.getId()), () -> changed(
+                writer.updateDocument(new Term(ID, Long.toString(employee.getId())), toDocument(employee))));
+    }
+
+    // PATCH only knows the changed columns, the rest comes from the stored fields of the indexed document
+    public void patch(long id, Employee changes) {
+        afterCommit(skips -> skips.ids.add(id), () -> findIndexed(id), indexed -> {
+            if (indexed == null) {
+                return;
+            }
+            if (changes.getFirstName() != null) {
+                indexed.setFirstName(changes.getFirstName());
+            }
+            if (changes.getLastName() != null) {
+                indexed.setLastName(changes.getLastName());
+            }
+            if (changes.getEmail() != null) {
+                indexed.setEmail(changes.getEmail());
+            }
+            changed(writer.updateDocument(new Term(ID, Long.toString(id)), toDocument(indexed)));
+        });
+    }
+
+    public void indexAll(Collection<Employee> employees) {
+        afterCommit(skips -> employees.forEach(employee -> skips.ids.add(employee.getId())), () -> {
+            for (Employee employee : employees) {
+                changed(writer.updateDocument(new Term(ID, Long.toString(employee.getId())), toDocument(employee)));
+            }
+        });
+    }
+
+    public void remove(Collection<Long> ids) {
+        afterCommit(skips -> skips.ids.addAll(ids), () -> changed(
+                writer.deleteDocuments(ids.stream().map(id -> new Term(ID, Long.toString(id))).toArray(Term[]::new))));
+    }
+
+    public void removeByLastName(String lastName) {
+        afterCommit(skips -> skips.lastNames.add(Employee.normalize(lastName)),
+                () -> changed(writer.deleteDocuments(new Term(LAST_NAME_EXACT, Employee.normalize(lastName)))));
+    }
+
+    // Pages through the table by id so no more than REBUILD_PAGE_SIZE entities are held at once. The index keeps
+    // serving and taking writes meanwhile: rows are replaced one by one, rows written during the rebuild are left
+    // to those writes since the page read for them may be older, and documents of rows that are gone are deleted
+    // at the end by their rebuild number.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        // the number first, so every document written from now on survives the final delete
+        long number = ++rebuildNumber;
+        RebuildSkips skips = new RebuildSkips();
+        rebuildSkips = skips;
+        try {
+            List<Employee> page = nextPage(0L);
+            while (!page.isEmpty()) {
+                synchronized (skips) {
+                    for (Employee employee : page) {
+                        if (!skips.contains(employee)) {
+                            changed(writer.updateDocument(new Term(ID, Long.toString(employee.getId())),
+                                    toDocument(employee)));
+                        }
+                    }
+                }
+                long lastId = page.get(page.size() - 1).getId();
+                page = nextPage(lastId);
+            }
+            changed(writer.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(REBUILD, Long.toString(number))), BooleanClause.Occur.MUST_NOT)
+                    .build()));
+            // prefix and fuzzy queries walk the terms of every segment, one segment keeps that to a single walk
+            writer.forceMerge(1);
+            writer.commit();
+            awaitRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            rebuildSkips = null;
+        }
+        log.info("Rebuilt employee search index with {} employees in {} ms",
+                writer.getDocStats().numDocs, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // blocks until searches see every change applied so far, without waiting for the next periodic refresh
+    public void awaitRefresh() throws InterruptedException {
+        reopenThread.waitForGeneration(lastChange.get());
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // a replica behind the primary could undo writes that were applied before the rebuild started
+    private List<Employee> nextPage(long lastId) {
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> employeeRepository.findNextPage(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE)));
+    }
+
+    // the stored fields of a change applied moments ago may not be searchable yet
+    private Employee findIndexed(long id) throws IOException {
+        try {
+            awaitRefresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            ScoreDoc[] scoreDocs = searcher.search(new TermQuery(new Term(ID, Long.toString(id))), 1).scoreDocs;
+            return scoreDocs.length == 0 ? null : toEmployee(searcher.storedFields().document(scoreDocs[0].doc));
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream tokens = analyzer.tokenStream(FIRST_NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Query nameQuery(String term, boolean prefix) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String field : NAME_FIELDS) {
+            query.add(new BoostQuery(new TermQuery(new Term(field, term)), 4f), BooleanClause.Occur.SHOULD);
+            if (prefix) {
+                query.add(new BoostQuery(new PrefixQuery(new Term(field, term)), 2f), BooleanClause.Occur.SHOULD);
+            }
+            int maxEdits = maxEdits(term);
+            if (maxEdits > 0) {
+                // the first two characters have to match, that keeps the walk over the terms short
+                query.add(new FuzzyQuery(new Term(field, term), maxEdits, FUZZY_PREFIX_LENGTH,
+                        MAX_FUZZY_EXPANSIONS, true), BooleanClause.Occur.SHOULD);
+            }
+        }
+        return query.build();
+    }
+
+    // short terms would match almost anything with one edit, two edits only pay off for long names
+    private static int maxEdits(String term) {
+        if (term.length() <= 2) {
+            return 0;
+        }
+        return term.length() <= 7 ? 1 : 2;
+    }
+
+    private void changed(long sequenceNumber) {
+        lastChange.accumulateAndGet(sequenceNumber, Math::max);
+    }
+
+    private Document toDocument(Employee employee) {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(employee.getId()), Field.Store.YES));
+        document.add(new TextField(FIRST_NAME, String.valueOf(employee.getFirstName()), Field.Store.YES));
+        document.add(new TextField(LAST_NAME, String.valueOf(employee.getLastName()), Field.Store.YES));
+        document.add(new StoredField(EMAIL, String.valueOf(employee.getEmail())));
+        document.add(new StringField(EMAIL_EXACT, String.valueOf(employee.getEmail()).toLowerCase(Locale.ROOT),
+                Field.Store.NO));
+        document.add(new StringField(LAST_NAME_EXACT, String.valueOf(Employee.normalize(employee.getLastName())), Field.Store.NO));
+        document.add(new StringField(REBUILD, Long.toString(rebuildNumber), Field.Store.NO));
+        return document;
+    }
+
+    private static Employee toEmployee(Document document) {
+        return Employee.builder()
+                .id(Long.parseLong(document.get(ID)))
+                .firstName(document.get(FIRST_NAME))
+                .lastName(document.get(LAST_NAME))
+                .email(document.get(EMAIL))
+                .build();
+    }
+
+    // rows records what the change touches for a running rebuild, which then leaves them out
+    private void afterCommit(Consumer<RebuildSkips> rows, IndexChange change) {
+        afterCommit(rows, () -> null, ignored -> change.apply());
+    }
+
+    // read runs before the rebuild is locked out, it may wait for a refresh and the rebuild must not wait on that
+    private <T> void afterCommit(Consumer<RebuildSkips> rows, IndexRead<T> read, IndexWrite<T> write) {
+        IndexChange skipping = () -> {
+            T current = read.read();
+            RebuildSkips skips = rebuildSkips;
+            if (skips == null) {
+                write.apply(current);
+                return;
+            }
+            synchronized (skips) {
+                rows.accept(skips);
+                write.apply(current);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            skipping.applyQuietly();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                skipping.applyQuietly();
+            }
+        });
+    }
+
+    private static final class RebuildSkips {
+
+        private final Set<Long> ids = new HashSet<>();
+
+        private final Set<String> lastNames = new HashSet<>();
+
+        private boolean contains(Employee employee) {
+            return ids.contains(employee.getId()) || lastNames.contains(Employee.normalize(employee.getLastName()));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexRead<T> {
+
+        T read() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite<T> {
+
+        void apply(T current) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IndexChange {
+
+        void apply() throws IOException;
+
+        // the index is a secondary copy, a failed change must not fail the write that caused it
+        default void applyQuietly() {
+            try {
+                apply();
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to update the employee search index", e);
+            }
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.onurhaktan.springboot.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.util.Locale;
 
 @Getter
 @Setter
@@ -10,9 +15,23 @@ import lombok.*;
 @Builder
 
 @Entity
-@Table(name = "employees")
+// UPDATE statements only contain the columns that actually changed
+@DynamicUpdate
+// the unique constraint also serves findByEmail, the composite index serves the last name + first name lookups
+// and last name only filters (leftmost prefix). The normalized name indexes serve the prefix search.
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        indexes = {
+                @Index(name = Employee.NAME_INDEX, columnList = "last_name, first_name"),
+                @Index(name = "idx_employees_last_name_normalized", columnList = "last_name_normalized, first_name_normalized"),
+                @Index(name = "idx_employees_first_name_normalized", columnList = "first_name_normalized")
+        })
 public class Employee {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+
+    public static final String NAME_INDEX = "idx_employees_last_name_first_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
@@ -25,4 +44,33 @@ public class Employee {
 
     @Column(nullable = false)
     private String email;
+
+    // lower-cased copies of the names for case-insensitive prefix search, kept in sync by normalizeNames().
+    // Nullable so ddl-auto can add them to a filled table, EmployeeNameBackfill fills the existing rows.
+    @JsonIgnore
+    @Column(name = "first_name_normalized")
+    private String firstNameNormalized;
+
+    @JsonIgnore
+    @Column(name = "last_name_normalized")
+    private String lastNameNormalized;
+
+    // optimistic lock version, also the strong ETag of the employee (see EmployeeController.eTag).
+    // Incremented by every UPDATE, including the bulk ones in EmployeeRepository. When ddl-auto adds the
+    // column to a filled table MySQL sets it to 0 for the existing rows. Read-only in JSON, clients send it back as If-Match.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @PrePersist
+    @PreUpdate
+    public void normalizeNames() {
+        firstNameNormalized = normalize(firstName);
+        lastNameNormalized = normalize(lastName);
+    }
+
+    public static String normalize(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
 }
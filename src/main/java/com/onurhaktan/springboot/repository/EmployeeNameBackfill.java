@@ -0,0 +1,58 @@
+package com.onurhaktan.springboot.repository;
+
+import com.onurhaktan.springboot.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Fills the normalized name columns of rows stored before they existed.
+// Runs once at startup in small transactions; the names are normalized in Java like on every other write path,
+// so the stored values match the search prefixes exactly. Does nothing once every row is filled.
+@Component
+@Profile("!reactive")
+public class EmployeeNameBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeNameBackfill.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transaction;
+
+    public EmployeeNameBackfill(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long lastId = 0;
+        long filled = 0;
+        while (true) {
+            long fromId = lastId;
+            List<Employee> chunk = transaction.execute(status -> {
+                List<Employee> employees = employeeRepository.findNextWithoutNormalizedNames(fromId, PageRequest.of(0, CHUNK_SIZE));
+                // the entities are managed, the changes are flushed on commit
+                employees.forEach(Employee::normalizeNames);
+                return employees;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            filled += chunk.size();
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+        if (filled > 0) {
+            log.info("Filled the normalized names of {} employees", filled);
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.onurhaktan.springboot.repository;
 
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
 import com.onurhaktan.springboot.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// declared queries do not inherit the read-only transaction of SimpleJpaRepository, so it is declared here.
+// The modifying queries override it and otherwise join the transaction of the calling service method.
+@Transactional(readOnly = true)
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    String STREAM_FETCH_SIZE = "1000";
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     Optional<Employee> findByEmail(String email);
 
+    // duplicate check for a whole batch of emails in a single IN query
+    @Query("select e.email from Employee e where e.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     // define custom query using JPQL with index params
     @Query("select e from Employee e WHERE e.firstName = ?1 and e.lastName = ?2")
     Employee findByJPQL(String firstName, String lastName);
@@ -24,4 +45,115 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName", nativeQuery = true)
     Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    // version check for conditional GETs, answered from the row without loading the entity
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // fingerprint of the whole table for the ETag of GET /api/employees: inserts raise the max id, deletes lower
+    // the count and updates raise the version sum. sum(version) reads every row, so this is a full scan, though
+    // without building entities or sending rows back. Only runs when the list cache has no current copy.
+    @Query("select new com.onurhaktan.springboot.dto.EmployeeListVersion(count(e), coalesce(max(e.id), 0), " +
+            "coalesce(sum(e.version), 0)) from Employee e")
+    EmployeeListVersion findListVersion();
+
+    // keyset pagination: seeks past the last seen id instead of skipping OFFSET rows,
+    // so deep pages cost the same as the first one. Only the page size of the Pageable is used.
+    @Query("select e from Employee e where e.id > :lastId order by e.id")
+    List<Employee> findNextPage(@Param("lastId") long lastId, Pageable pageable);
+
+    // case-insensitive prefix search on the normalized name columns. The patterns are prefixes with
+    // ! as escape character (see EmployeeServiceImpl.prefixPattern), so the index range scan can be used.
+    // Keyset paginated in index order, the page starts after the (lastName, firstName, id) of the previous page.
+    @Query("select e from Employee e where e.lastNameNormalized like :lastName escape '!' " +
+            "and e.firstNameNormalized like :firstName escape '!' " +
+            "and (e.lastNameNormalized, e.firstNameNormalized, e.id) > (:afterLastName, :afterFirstName, :afterId) " +
+            "order by e.lastNameNormalized, e.firstNameNormalized, e.id")
+    List<Employee> searchByNamePrefix(@Param("lastName") String lastNamePattern,
+                                      @Param("firstName") String firstNamePattern,
+                                      @Param("afterLastName") String afterLastName,
+                                      @Param("afterFirstName") String afterFirstName,
+                                      @Param("afterId") long afterId,
+                                      Pageable pageable);
+
+    // the same search when only a first name prefix is given: a range scan of idx_employees_first_name_normalized,
+    // which InnoDB keeps in (first_name_normalized, id) order, keyset paginated after the previous page's last row
+    @Query("select e from Employee e where e.firstNameNormalized like :firstName escape '!' " +
+            "and (e.firstNameNormalized, e.id) > (:afterFirstName, :afterId) " +
+            "order by e.firstNameNormalized, e.id")
+    List<Employee> searchByFirstNamePrefix(@Param("firstName") String firstNamePattern,
+                                           @Param("afterFirstName") String afterFirstName,
+                                           @Param("afterId") long afterId,
+                                           Pageable pageable);
+
+    // rows stored before the normalized name columns existed, see EmployeeNameBackfill
+    @Query("select e from Employee e where e.id > :lastId " +
+            "and (e.firstNameNormalized is null or e.lastNameNormalized is null) order by e.id")
+    List<Employee> findNextWithoutNormalizedNames(@Param("lastId") long lastId, Pageable pageable);
+
+    // server-side cursor: with useCursorFetch=true on the MySQL URL the driver fetches STREAM_FETCH_SIZE rows
+    // at a time instead of buffering the whole result set. Must be consumed inside a transaction and closed.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e from Employee e")
+    Stream<Employee> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select e.email from Employee e")
+    Stream<String> streamAllEmails();
+
+    // partial update in a single statement: null arguments keep the current column value.
+    // Returns the number of matched rows, 0 when there is no employee with the given id.
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    // Bulk updates skip the entity callbacks, so the normalized names and the version are set here as well.
+    @Query("update Employee e set e.version = e.version + 1, e.firstName = coalesce(:firstName, e.firstName), " +
+            "e.firstNameNormalized = coalesce(:firstNameNormalized, e.firstNameNormalized), " +
+            "e.lastName = coalesce(:lastName, e.lastName), " +
+            "e.lastNameNormalized = coalesce(:lastNameNormalized, e.lastNameNormalized), " +
+            "e.email = coalesce(:email, e.email) where e.id = :id")
+    int patchById(@Param("id") long id, @Param("firstName") String firstName,
+                  @Param("lastName") String lastName, @Param("email") String email,
+                  @Param("firstNameNormalized") String firstNameNormalized,
+                  @Param("lastNameNormalized") String lastNameNormalized);
+
+    default int patchById(long id, String firstName, String lastName, String email) {
+        return patchById(id, firstName, lastName, email, Employee.normalize(firstName), Employee.normalize(lastName));
+    }
+
+    // compare-and-set update for If-Match: only applies when the row still has the expected version.
+    // Returns 0 when there is no such employee or it has been changed since; findVersionById tells which.
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Employee e set e.version = e.version + 1, e.firstName = :firstName, e.lastName = :lastName, " +
+            "e.email = :email, e.firstNameNormalized = :firstNameNormalized, e.lastNameNormalized = :lastNameNormalized " +
+            "where e.id = :id and e.version = :version")
+    int updateByIdAndVersion(@Param("id") long id, @Param("version") long version,
+                             @Param("firstName") String firstName, @Param("lastName") String lastName,
+                             @Param("email") String email,
+                             @Param("firstNameNormalized") String firstNameNormalized,
+                             @Param("lastNameNormalized") String lastNameNormalized);
+
+    // single DELETE statements, unlike deleteById they do not load the entities first.
+    // They return the number of deleted rows.
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from Employee e where e.id = :id")
+    int deleteEmployeeById(@Param("id") long id);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from Employee e where e.id in :ids")
+    int deleteEmployeesByIds(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("delete from Employee e where e.lastName = :lastName")
+    int deleteEmployeesByLastName(@Param("lastName") String lastName);
 }
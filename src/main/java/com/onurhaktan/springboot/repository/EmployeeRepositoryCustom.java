@@ -0,0 +1,26 @@
+package com.onurhaktan.springboot.repository;
+
+import com.onurhaktan.springboot.model.Employee;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+
+    // Employee attributes that can be requested through findFields/findFieldsById
+    List<String> SELECTABLE_FIELDS = List.of("id", "firstName", "lastName", "email");
+
+    // Inserts the employees with plain JDBC batches and sets the generated ids on the given objects.
+    // Employee ids use IDENTITY generation, which makes Hibernate give up on insert batching, so this bypasses it.
+    // A row the database rejects (an email stored concurrently) is skipped and keeps id 0, the other rows are inserted.
+    // The employees must come in with id 0. Runs in the caller's transaction, the repository's read-only one otherwise.
+    List<Employee> insertAll(List<Employee> employees);
+
+    // Sparse fieldsets: select only the given attributes as tuples, keyed by attribute name in the requested order.
+    // No entities are created, so nothing ends up in the persistence context.
+    // Keyset paginated by id like findNextPage, id is selected first when it is not requested since it is the cursor.
+    List<Map<String, Object>> findFields(List<String> fields, long lastId, int limit);
+
+    Optional<Map<String, Object>> findFieldsById(long id, List<String> fields);
+}
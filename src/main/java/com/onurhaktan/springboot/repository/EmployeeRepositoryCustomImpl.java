@@ -0,0 +1,170 @@
+package com.onurhaktan.springboot.repository;
+
+import com.onurhaktan.springboot.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    // new rows start at version 0, like the ones persisted through Hibernate
+    private static final String INSERT_SQL = "insert into employees (first_name, last_name, email, first_name_normalized, last_name_normalized, version) " +
+            "values (?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public EmployeeRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                        @Value("${employees.bulk.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public List<Employee> insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return employees;
+        }
+        // JdbcTemplate joins the connection of the surrounding JPA transaction, if there is one
+        return jdbcTemplate.execute((ConnectionCallback<List<Employee>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < employees.size(); from += batchSize) {
+                    List<Employee> batch = employees.subList(from, Math.min(from + batchSize, employees.size()));
+                    for (Employee employee : batch) {
+                        bind(statement, employee);
+                        statement.addBatch();
+                    }
+                    // the batch is undone as a whole when one of its rows fails, then inserted row by row
+                    Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+                    try {
+                        // with rewriteBatchedStatements=true the MySQL driver sends this as multi-row INSERTs
+                        statement.executeBatch();
+                        if (savepoint != null) {
+                            connection.releaseSavepoint(savepoint);
+                        }
+                    } catch (BatchUpdateException e) {
+                        if (savepoint == null || !isConstraintViolation(e)) {
+                            throw e;
+                        }
+                        connection.rollback(savepoint);
+                        statement.clearBatch();
+                        insertEach(statement, batch);
+                        continue;
+                    }
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (Employee employee : batch) {
+                            if (keys.next()) {
+                                employee.setId(keys.getLong(1));
+                            }
+                        }
+                    }
+                }
+            }
+            return employees;
+        });
+    }
+
+    private static void insertEach(PreparedStatement statement, List<Employee> batch) throws SQLException {
+        for (Employee employee : batch) {
+            bind(statement, employee);
+            try {
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if (!isConstraintViolation(e)) {
+                    throw e;
+                }
+                // keeps id 0, the caller reports it as rejected
+                continue;
+            }
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                if (keys.next()) {
+                    employee.setId(keys.getLong(1));
+                }
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Employee employee) throws SQLException {
+        statement.setString(1, employee.getFirstName());
+        statement.setString(2, employee.getLastName());
+        statement.setString(3, employee.getEmail());
+        // no entity callbacks on this path
+        employee.normalizeNames();
+        statement.setString(4, employee.getFirstNameNormalized());
+        statement.setString(5, employee.getLastNameNormalized());
+    }
+
+    // SQLState class 23 is an integrity constraint violation, here the unique email
+    private static boolean isConstraintViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState().startsWith("23");
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(List<String> fields, long lastId, int limit) {
+        List<String> selectedFields = fields.contains("id")
+                ? fields
+                : Stream.concat(Stream.of("id"), fields.stream()).toList();
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        query.multiselect(selections(employee, selectedFields))
+                .where(criteriaBuilder.greaterThan(employee.get("id"), lastId))
+                .orderBy(criteriaBuilder.asc(employee.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(tuple -> toMap(tuple, selectedFields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, List<String> fields) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        query.multiselect(selections(employee, fields))
+                .where(criteriaBuilder.equal(employee.get("id"), id));
+
+        return entityManager.createQuery(query).getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private static List<Selection<?>> selections(Root<Employee> employee, List<String> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> employee.get(field).alias(field))
+                .toList();
+    }
+
+    private static Map<String, Object> toMap(Tuple tuple, List<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            values.put(field, tuple.get(field));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,134 @@
+package com.onurhaktan.springboot.repository;
+
+import com.onurhaktan.springboot.model.Employee;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+// R2DBC access to the employees table for the reactive profile. Employee is mapped for JPA, so the SQL is
+// written out here like in EmployeeRepositoryCustomImpl. Statements mirror the ones of EmployeeRepository,
+// including the normalized name columns that back the prefix search.
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_SQL = "select id, first_name, last_name, email, version from employees";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // rows are fetched as the subscriber requests them, the result set is never buffered as a whole
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_SQL + " order by id")
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    // keyset page like EmployeeRepository.findNextPage
+    public Flux<Employee> findNextPage(long lastId, int limit) {
+        return databaseClient.sql(SELECT_SQL + " where id > :lastId order by id limit :limit")
+                .bind("lastId", lastId)
+                .bind("limit", limit)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .all();
+    }
+
+    public Mono<Employee> findById(long id) {
+        return databaseClient.sql(SELECT_SQL + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::toEmployee)
+                .one();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        employee.normalizeNames();
+        return bindNullable(databaseClient.sql("insert into employees " +
+                        "(first_name, last_name, email, first_name_normalized, last_name_normalized, version) " +
+                        "values (:firstName, :lastName, :email, :firstNameNormalized, :lastNameNormalized, 0)"), employee)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    return employee;
+                });
+    }
+
+    // Compare-and-set on the version employee carries, returns 0 when the row has changed since it was read.
+    // Like every update it increments the version that backs the ETags.
+    public Mono<Long> update(Employee employee) {
+        employee.normalizeNames();
+        return bindNullable(databaseClient.sql("update employees set version = version + 1, " +
+                        "first_name = :firstName, last_name = :lastName, " +
+                        "email = :email, first_name_normalized = :firstNameNormalized, " +
+                        "last_name_normalized = :lastNameNormalized where id = :id and version = :version"), employee)
+                .bind("id", employee.getId())
+                .bind("version", employee.getVersion())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    // null fields of changes keep the current column value, see EmployeeRepository.patchById
+    public Mono<Long> patchById(long id, Employee changes) {
+        changes.normalizeNames();
+        return bindNullable(databaseClient.sql("update employees set version = version + 1, " +
+                        "first_name = coalesce(:firstName, first_name), " +
+                        "last_name = coalesce(:lastName, last_name), email = coalesce(:email, email), " +
+                        "first_name_normalized = coalesce(:firstNameNormalized, first_name_normalized), " +
+                        "last_name_normalized = coalesce(:lastNameNormalized, last_name_normalized) where id = :id"), changes)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql("delete from employees where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByIds(Collection<Long> ids) {
+        return databaseClient.sql("delete from employees where id in (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteByLastName(String lastName) {
+        return databaseClient.sql("delete from employees where last_name = :lastName")
+                .bind("lastName", lastName)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, Employee employee) {
+        spec = bindNullable(spec, "firstName", employee.getFirstName());
+        spec = bindNullable(spec, "lastName", employee.getLastName());
+        spec = bindNullable(spec, "email", employee.getEmail());
+        spec = bindNullable(spec, "firstNameNormalized", employee.getFirstNameNormalized());
+        return bindNullable(spec, "lastNameNormalized", employee.getLastNameNormalized());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private static Employee toEmployee(Readable row) {
+        return Employee.builder()
+                .id(row.get("id", Long.class))
+                .firstName(row.get("first_name", String.class))
+                .lastName(row.get("last_name", String.class))
+                .email(row.get("email", String.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+}
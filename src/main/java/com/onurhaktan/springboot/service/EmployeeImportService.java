@@ -0,0 +1,12 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.dto.ImportJob;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface EmployeeImportService {
+    // Starts importing the CSV file in the background. The file is deleted once the import is finished.
+    ImportJob startImport(Path csvFile);
+    Optional<ImportJob> getImport(String jobId);
+}
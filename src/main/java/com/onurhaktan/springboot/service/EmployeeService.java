@@ -1,16 +1,55 @@
 package com.onurhaktan.springboot.service;
 
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.EmployeeBatch;
+import com.onurhaktan.springboot.dto.EmployeeFieldsPage;
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
 import com.onurhaktan.springboot.model.Employee;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
+    // Creates all employees in one transaction and reports the outcome of every element in request order.
+    List<BulkCreateResult> saveEmployees(List<Employee> employees);
     List<Employee> getAllEmployees();
+    // cheap fingerprint of the list returned by getAllEmployees, for conditional GETs
+    EmployeeListVersion getEmployeeListVersion();
+    // Returns at most size employees after the position encoded in cursor (null cursor means the first page).
+    EmployeePage getEmployeesPage(String cursor, int size);
+    // case-insensitive prefix search, at least one of the prefixes is required
+    EmployeePage searchEmployees(String firstNamePrefix, String lastNamePrefix, String cursor, int size);
+    // ranked, typo tolerant search over first name, last name and email, served by the embedded search index
+    List<EmployeeSearchHit> searchEmployeesByText(String text, int limit);
+    // Hands every employee to the consumer one at a time without loading the whole table into memory.
+    void exportEmployees(Consumer<Employee> consumer);
     // If no employee matching the specified id is found in the database, instead of returning null, an empty Optional object is returned.
     // This prevents NullPointerException errors.
     Optional<Employee> getEmployeeById(long id);
-    Employee updateEmployee(Employee updatedEmployee);
+    // current version of the employee without loading it, empty when there is no such employee
+    Optional<Long> getEmployeeVersion(long id);
+    // Loads all ids with a single IN query and returns them in request order.
+    EmployeeBatch getEmployeesByIds(List<Long> ids);
+    // Sparse fieldsets: only the requested Employee attributes and the id are selected and returned, paged like
+    // getEmployeesPage.
+    EmployeeFieldsPage getEmployeeFieldsPage(List<String> fields, String cursor, int size);
+    Optional<Map<String, Object>> getEmployeeFieldsById(long id, List<String> fields);
+    // last write wins: the fields are applied to the current row whatever version updatedEmployee carries.
+    // Nothing is written when the row already has these values, empty when there is no employee with the given id.
+    Optional<Employee> updateEmployee(Employee updatedEmployee);
+    // Conditional update in a single statement. Throws PreconditionFailedException when the employee no longer has
+    // expectedVersion, empty when there is no employee with the given id.
+    Optional<Employee> updateEmployee(long id, long expectedVersion, Employee employee);
+    // Updates only the non-null fields of changes with a single UPDATE; returns false when there is no such employee.
+    boolean patchEmployee(long id, Employee changes);
+    // Throws ResourceNotFoundException when there is no employee with the given id.
     void deleteEmployee(long id);
+    // Bulk deletes run as one set-based statement and return the number of deleted employees.
+    int deleteEmployees(List<Long> ids);
+    int deleteEmployeesByLastName(String lastName);
 }
@@ -0,0 +1,14 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.dto.PendingCreate;
+import com.onurhaktan.springboot.model.Employee;
+
+import java.util.Optional;
+
+public interface EmployeeWriteBehindService {
+    // Validates the employee and queues it for the background flusher. Throws BadRequestException for invalid input
+    // and ServiceUnavailableException when the queue is full or the application is shutting down.
+    PendingCreate enqueue(Employee employee);
+    // Empty once the outcome is older than the retention period.
+    Optional<PendingCreate> getPendingCreate(String trackingId);
+}
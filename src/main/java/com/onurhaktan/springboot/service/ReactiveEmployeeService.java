@@ -0,0 +1,25 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Non-blocking counterpart of EmployeeService for the reactive profile.
+public interface ReactiveEmployeeService {
+
+    Mono<Employee> saveEmployee(Employee employee);
+    Flux<Employee> getAllEmployees();
+    // keyset paginated by id with the same cursors as EmployeeService.getEmployeesPage
+    Mono<EmployeePage> getEmployeesPage(String cursor, int size);
+    Mono<Employee> getEmployeeById(long id);
+    // empty when there is no employee with the given id
+    Mono<Employee> updateEmployee(Employee updatedEmployee);
+    Mono<Boolean> patchEmployee(long id, Employee changes);
+    // signals ResourceNotFoundException when there is no employee with the given id
+    Mono<Void> deleteEmployee(long id);
+    Mono<Long> deleteEmployees(List<Long> ids);
+    Mono<Long> deleteEmployeesByLastName(String lastName);
+}
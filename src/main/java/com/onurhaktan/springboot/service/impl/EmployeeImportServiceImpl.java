@@ -0,0 +1,412 @@
+package com.onurhaktan.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.ImportJob;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.EmployeeImportService;
+import com.onurhaktan.springboot.service.EmployeeService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+// CSV import pipeline: parse -> validate -> write.
+// The parser reads the file line by line, a bounded pool validates and normalizes the rows and a single writer
+// saves them in batches through EmployeeService.saveEmployees (one transaction per batch).
+// Both hand-offs are bounded: when validation falls behind the parser validates rows itself (CallerRunsPolicy)
+// and when writing falls behind the validators block on the write queue, so heap use does not depend on the file size.
+// Nothing waits on the writer without checking that it is still running: if it dies, parsing stops, the rows still
+// being validated are rejected and the job fails with the writer's error.
+// Finished jobs stay queryable for status-retention, bounded by max-tracked; running jobs are kept until they finish.
+// A job's rejected rows file is deleted when the job is dropped.
+@Service
+@Profile("!reactive")
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+
+    private static final ImportRow END_OF_INPUT = new ImportRow(-1, null, null);
+
+    // how long a blocked hand-off to the writer waits before checking that the writer is still running
+    private static final long WRITER_CHECK_MILLIS = 100;
+
+    private final EmployeeService employeeService;
+
+    private final int workers;
+
+    private final int batchSize;
+
+    private final int queueCapacity;
+
+    private final ExecutorService importExecutor = Executors.newCachedThreadPool(namedThreads("employee-import-"));
+
+    private final Cache<String, ImportJob> jobs;
+
+    public EmployeeImportServiceImpl(EmployeeService employeeService,
+                                     @Value("${employees.import.workers:4}") int workers,
+                                     @Value("${employees.import.batch-size:500}") int batchSize,
+                                     @Value("${employees.import.queue-capacity:10000}") int queueCapacity,
+                                     @Value("${employees.import.status-retention:PT1H}") Duration statusRetention,
+                                     @Value("${employees.import.max-tracked:1000}") long maxTracked) {
+        this.employeeService = employeeService;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        // a job is put again when it finishes, which is when its retention starts and it starts to count
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(maxTracked)
+                .weigher((String jobId, ImportJob job) -> job.getStatus() == ImportJob.Status.RUNNING ? 0 : 1)
+                .expireAfter(new Expiry<String, ImportJob>() {
+                    @Override
+                    public long expireAfterCreate(String jobId, ImportJob job, long currentTime) {
+                        return job.getStatus() == ImportJob.Status.RUNNING ? Long.MAX_VALUE : statusRetention.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String jobId, ImportJob job, long currentTime, long currentDuration) {
+                        return expireAfterCreate(jobId, job, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String jobId, ImportJob job, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .removalListener((String jobId, ImportJob job, RemovalCause cause) -> {
+                    if (job != null && cause != RemovalCause.REPLACED) {
+                        deleteQuietly(job.getRejectedRowsFile());
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public ImportJob startImport(Path csvFile) {
+        String jobId = UUID.randomUUID().toString();
+        Path rejectedRowsFile;
+        try {
+            rejectedRowsFile = Files.createTempFile("employees-import-" + jobId + "-", "-rejected.csv");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ImportJob job = new ImportJob(jobId, rejectedRowsFile);
+        jobs.put(jobId, job);
+        importExecutor.execute(() -> runImport(job, csvFile));
+        return job;
+    }
+
+    @Override
+    public Optional<ImportJob> getImport(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        importExecutor.shutdownNow();
+        jobs.invalidateAll();
+    }
+
+    private void runImport(ImportJob job, Path csvFile) {
+        BlockingQueue<ImportRow> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+        ThreadPoolExecutor validators = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("employee-import-validator-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try (RejectedRowsWriter rejectedRows = new RejectedRowsWriter(job);
+             BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+
+            Future<?> writer = importExecutor.submit(() -> {
+                writeRows(job, writeQueue, rejectedRows);
+                return null;
+            });
+            try {
+                parseRows(job, reader, validators, writeQueue, writer, rejectedRows);
+            } finally {
+                validators.shutdown();
+                while (!validators.awaitTermination(WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (writer.isDone()) {
+                        validators.shutdownNow();
+                    }
+                }
+                handOff(writeQueue, END_OF_INPUT, writer);
+            }
+            writer.get();
+            rejectedRows.close();
+            job.complete();
+        } catch (ExecutionException e) {
+            job.fail(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail(e);
+        } catch (Exception e) {
+            job.fail(e);
+        } finally {
+            validators.shutdownNow();
+            deleteQuietly(csvFile);
+            jobs.asMap().replace(job.getId(), job, job);
+        }
+    }
+
+    private void parseRows(ImportJob job, BufferedReader reader, ThreadPoolExecutor validators,
+                           BlockingQueue<ImportRow> writeQueue, Future<?> writer, RejectedRowsWriter rejectedRows)
+            throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        CsvColumns columns = CsvColumns.fromHeader(header);
+
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null && !writer.isDone()) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            job.rowParsed();
+
+            long rowNumber = lineNumber;
+            String rowLine = line;
+            validators.execute(() -> validateRow(rowNumber, rowLine, columns, writeQueue, writer, rejectedRows));
+        }
+    }
+
+    private void validateRow(long lineNumber, String line, CsvColumns columns, BlockingQueue<ImportRow> writeQueue,
+                             Future<?> writer, RejectedRowsWriter rejectedRows) {
+        List<String> fields = splitCsvLine(line);
+        if (fields.size() < columns.size()) {
+            rejectedRows.reject(lineNumber, "Expected " + columns.size() + " columns but found " + fields.size(), line);
+            return;
+        }
+
+        String firstName = fields.get(columns.firstName()).trim();
+        String lastName = fields.get(columns.lastName()).trim();
+        String email = fields.get(columns.email()).trim().toLowerCase(Locale.ROOT);
+        if (firstName.isEmpty() || lastName.isEmpty()) {
+            rejectedRows.reject(lineNumber, "firstName and lastName are required", line);
+            return;
+        }
+        if (!EMAIL_PATTERN.matcher(email).matches()) {
+            rejectedRows.reject(lineNumber, "Invalid email: " + email, line);
+            return;
+        }
+
+        Employee employee = Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+        try {
+            if (!handOff(writeQueue, new ImportRow(lineNumber, line, employee), writer)) {
+                rejectedRows.reject(lineNumber, "Import writer stopped", line);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejectedRows.reject(lineNumber, "Import interrupted", line);
+        }
+    }
+
+    // Puts the row on the write queue, waiting while it is full. Returns false once the writer has stopped
+    // taking rows, which would otherwise leave the caller blocked for good.
+    private static boolean handOff(BlockingQueue<ImportRow> writeQueue, ImportRow row, Future<?> writer)
+            throws InterruptedException {
+        while (!writer.isDone()) {
+            if (writeQueue.offer(row, WRITER_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRows(ImportJob job, BlockingQueue<ImportRow> writeQueue, RejectedRowsWriter rejectedRows)
+            throws InterruptedException {
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ImportRow row = writeQueue.take();
+            if (row == END_OF_INPUT) {
+                break;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                writeBatch(job, batch, rejectedRows);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(job, batch, rejectedRows);
+        }
+    }
+
+    private void writeBatch(ImportJob job, List<ImportRow> batch, RejectedRowsWriter rejectedRows) {
+        List<Employee> employees = batch.stream().map(ImportRow::employee).toList();
+        try {
+            int written = 0;
+            for (BulkCreateResult result : employeeService.saveEmployees(employees)) {
+                if (result.status() == BulkCreateResult.Status.CREATED) {
+                    written++;
+                } else {
+                    ImportRow row = batch.get(result.index());
+                    rejectedRows.reject(row.lineNumber(), result.message(), row.line());
+                }
+            }
+            job.rowsWritten(written);
+        } catch (RuntimeException e) {
+            // a failed batch is rolled back as a whole, keep going with the next one
+            for (ImportRow row : batch) {
+                rejectedRows.reject(row.lineNumber(), "Batch failed: " + e.getMessage(), row.line());
+            }
+        }
+        batch.clear();
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // the files live in the temp directory, leaving one behind is harmless
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // nothing to do
+        }
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record ImportRow(long lineNumber, String line, Employee employee) {
+    }
+
+    private record CsvColumns(int firstName, int lastName, int email, int size) {
+
+        static CsvColumns fromHeader(String header) {
+            List<String> names = splitCsvLine(header).stream()
+                    .map(name -> name.trim().replace("_", "").toLowerCase(Locale.ROOT))
+                    .toList();
+            int firstName = names.indexOf("firstname");
+            int lastName = names.indexOf("lastname");
+            int email = names.indexOf("email");
+            if (firstName < 0 || lastName < 0 || email < 0) {
+                throw new IllegalArgumentException("CSV header must contain firstName, lastName and email columns");
+            }
+            return new CsvColumns(firstName, lastName, email, Math.max(firstName, Math.max(lastName, email)) + 1);
+        }
+    }
+
+    // Rejected rows are appended from the validator threads and the writer, so writes are serialized here.
+    // A ReentrantLock rather than synchronized: a virtual thread blocked in the file write keeps its carrier otherwise.
+    private static class RejectedRowsWriter implements Closeable {
+
+        private final ImportJob job;
+
+        private final BufferedWriter writer;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private IOException failure;
+
+        RejectedRowsWriter(ImportJob job) throws IOException {
+            this.job = job;
+            this.writer = Files.newBufferedWriter(job.getRejectedRowsFile(), StandardCharsets.UTF_8);
+            this.writer.write("line,reason,row");
+            this.writer.newLine();
+        }
+
+        void reject(long lineNumber, String reason, String line) {
+            job.rowRejected();
+            lock.lock();
+            try {
+                if (failure != null) {
+                    return;
+                }
+                writer.write(lineNumber + "," + quote(reason) + "," + quote(line));
+                writer.newLine();
+            } catch (IOException e) {
+                failure = e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            lock.lock();
+            try {
+                writer.close();
+                if (failure != null) {
+                    IOException e = failure;
+                    failure = null;
+                    throw e;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static String quote(String value) {
+            return "\"" + String.valueOf(value).replace("\"", "\"\"") + "\"";
+        }
+    }
+}
@@ -1,32 +1,181 @@
 package com.onurhaktan.springboot.service.impl;
 
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.cache.EmployeeReadCoalescer;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.EmployeeBatch;
+import com.onurhaktan.springboot.dto.EmployeeFieldsPage;
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.PreconditionFailedException;
 import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.index.EmployeeEmailIndex;
+import com.onurhaktan.springboot.index.EmployeeSearchIndex;
 import com.onurhaktan.springboot.model.Employee;
 import com.onurhaktan.springboot.repository.EmployeeRepository;
+import com.onurhaktan.springboot.repository.EmployeeRepositoryCustom;
 import com.onurhaktan.springboot.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheConfig;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+@CacheConfig(cacheNames = EmployeeServiceImpl.EMPLOYEE_CACHE)
+// reads run in read-only transactions: Hibernate switches to FlushMode.MANUAL (no dirty checking or flush on commit)
+// and the JDBC connection gets the read-only hint. Writing methods declare their own @Transactional.
+@Transactional(readOnly = true)
+// one timer per method (tagged class, method and exception) with a percentile histogram for Prometheus
+@Timed(value = EmployeeServiceImpl.SERVICE_TIMER, histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class EmployeeServiceImpl implements EmployeeService {
 
+    // bounded, TTL evicted Caffeine cache in front of findById, see spring.cache.* in application.properties
+    public static final String EMPLOYEE_CACHE = "employees";
+
+    public static final String SERVICE_TIMER = "employees.service";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEARCH_CURSOR_SEPARATOR = "\0";
+
     private EmployeeRepository employeeRepository;
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    private EntityManager entityManager;
+
+    private EmployeeEmailIndex employeeEmailIndex;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    private EmployeeListCache employeeListCache;
+
+    private EmployeeJsonCache employeeJsonCache;
+
+    private EmployeeReadCoalescer employeeReadCoalescer;
+
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               EmployeeEmailIndex employeeEmailIndex, EmployeeSearchIndex employeeSearchIndex,
+                               EmployeeListCache employeeListCache, EmployeeJsonCache employeeJsonCache,
+                               EmployeeReadCoalescer employeeReadCoalescer) {
         this.employeeRepository = employeeRepository;
+        this.entityManager = entityManager;
+        this.employeeEmailIndex = employeeEmailIndex;
+        this.employeeSearchIndex = employeeSearchIndex;
+        this.employeeListCache = employeeListCache;
+        this.employeeJsonCache = employeeJsonCache;
+        this.employeeReadCoalescer = employeeReadCoalescer;
     }
 
     @Override
+    @Transactional
+    @CachePut(key = "#result.id")
     public Employee saveEmployee(Employee employee) {
-
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if (savedEmployee.isPresent()){
+        // new emails skip the duplicate check query, the email index knows they are not stored.
+        // The unique index on email still rejects duplicates that slip through under concurrent creates.
+        if (employeeEmailIndex.isRegistered(employee.getEmail())) {
             throw new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail());
         }
-        return employeeRepository.save(employee);
+        Employee savedEmployee;
+        try {
+            savedEmployee = employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, employee);
+        }
+        employeeEmailIndex.add(savedEmployee.getEmail());
+        employeeSearchIndex.index(savedEmployee);
+        employeeListCache.invalidate();
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional
+    public List<BulkCreateResult> saveEmployees(List<Employee> employees) {
+        BulkCreateResult[] results = new BulkCreateResult[employees.size()];
+
+        // only emails the email index cannot rule out need to be checked against the table
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee.getEmail() != null && employeeEmailIndex.mightBeRegistered(employee.getEmail())) {
+                emails.add(employee.getEmail());
+            }
+        }
+        // the email column has a case-insensitive collation, so Onur@email.com and onur@email.com are the same email
+        Set<String> takenEmails = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (!emails.isEmpty()) {
+            takenEmails.addAll(employeeRepository.findExistingEmails(emails));
+        }
+
+        List<Employee> toInsert = new ArrayList<>();
+        List<Integer> toInsertIndexes = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            Employee employee = employees.get(i);
+            if (employee.getFirstName() == null || employee.getLastName() == null || employee.getEmail() == null) {
+                results[i] = BulkCreateResult.rejected(i, BulkCreateResult.Status.INVALID, employee,
+                        "firstName, lastName and email are required");
+            } else if (!takenEmails.add(employee.getEmail())) {
+                // either already stored or used by an earlier element of the same request
+                results[i] = BulkCreateResult.rejected(i, BulkCreateResult.Status.DUPLICATE, employee,
+                        "Employee already exist with given email: " + employee.getEmail());
+            } else {
+                // the id comes from the database, one sent by the client would pass a rejected row off as inserted
+                employee.setId(0);
+                toInsert.add(employee);
+                toInsertIndexes.add(i);
+            }
+        }
+
+        employeeRepository.insertAll(toInsert);
+        List<Employee> inserted = new ArrayList<>(toInsert.size());
+        for (int i = 0; i < toInsert.size(); i++) {
+            Employee employee = toInsert.get(i);
+            int index = toInsertIndexes.get(i);
+            if (employee.getId() == 0) {
+                // stored by a concurrent request after the duplicate check above
+                results[index] = BulkCreateResult.rejected(index, BulkCreateResult.Status.DUPLICATE, employee,
+                        "Employee already exist with given email: " + employee.getEmail());
+            } else {
+                results[index] = BulkCreateResult.created(index, employee);
+                employeeEmailIndex.add(employee.getEmail());
+                inserted.add(employee);
+            }
+        }
+        employeeSearchIndex.indexAll(inserted);
+        if (!inserted.isEmpty()) {
+            employeeListCache.invalidate();
+        }
+        return Arrays.asList(results);
     }
 
     @Override
@@ -35,17 +184,340 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
+    public EmployeeListVersion getEmployeeListVersion() {
+        return employeeRepository.findListVersion();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public EmployeePage getEmployeesPage(String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        long lastId = decodeCursor(cursor);
+
+        return employeeReadCoalescer.load(new PageKey(lastId, pageSize), () -> {
+            // one extra row tells us whether there is a next page without a count query
+            List<Employee> rows = employeeRepository.findNextPage(lastId, PageRequest.of(0, pageSize + 1));
+            if (rows.size() <= pageSize) {
+                return new EmployeePage(rows, null);
+            }
+            List<Employee> content = rows.subList(0, pageSize);
+            return new EmployeePage(content, encodeCursor(content.get(pageSize - 1).getId()));
+        });
+    }
+
+    @Override
+    public EmployeePage searchEmployees(String firstNamePrefix, String lastNamePrefix, String cursor, int size) {
+        if (isBlank(firstNamePrefix) && isBlank(lastNamePrefix)) {
+            throw new BadRequestException("firstName or lastName prefix is required");
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        SearchCursor after = decodeSearchCursor(cursor);
+
+        // without a last name the (last name, first name) index cannot narrow the search, the first name index can
+        boolean firstNameOnly = isBlank(lastNamePrefix);
+        List<Employee> rows = firstNameOnly
+                ? employeeRepository.searchByFirstNamePrefix(prefixPattern(firstNamePrefix),
+                        after.firstName(), after.id(), PageRequest.of(0, pageSize + 1))
+                : employeeRepository.searchByNamePrefix(prefixPattern(lastNamePrefix), prefixPattern(firstNamePrefix),
+                        after.lastName(), after.firstName(), after.id(), PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new EmployeePage(rows, null);
+        }
+        List<Employee> content = rows.subList(0, pageSize);
+        Employee last = content.get(pageSize - 1);
+        String lastName = firstNameOnly ? "" : last.getLastNameNormalized();
+        return new EmployeePage(content,
+                encodeSearchCursor(new SearchCursor(lastName, last.getFirstNameNormalized(), last.getId())));
+    }
+
+    @Override
+    public List<EmployeeSearchHit> searchEmployeesByText(String text, int limit) {
+        if (isBlank(text)) {
+            throw new BadRequestException("Search text is required");
+        }
+        int maxHits = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        return employeeSearchIndex.search(text, maxHits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // written already, drop it from the persistence context so memory stays flat
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    // Cache misses for the same id share one query. The coalesced reads open no transaction of their own, the
+    // repository runs the query in its read-only one, so callers waiting for a shared load do not hold a connection.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    @Cacheable(key = "#id", unless = "#result == null")
     public Optional<Employee> getEmployeeById(long id) {
-        return employeeRepository.findById(id);
+        return employeeReadCoalescer.load(new EmployeeKey(id), () -> employeeRepository.findById(id));
+    }
+
+    @Override
+    public Optional<Long> getEmployeeVersion(long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public EmployeeBatch getEmployeesByIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        Map<Long, Employee> employeesById = employeeRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Employee employee = employeesById.get(id);
+            if (employee != null) {
+                employees.add(employee);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new EmployeeBatch(employees, missingIds);
+    }
+
+    @Override
+    public EmployeeFieldsPage getEmployeeFieldsPage(List<String> fields, String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        long lastId = decodeCursor(cursor);
+
+        List<Map<String, Object>> rows = employeeRepository.findFields(checkFields(fields), lastId, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new EmployeeFieldsPage(rows, null);
+        }
+        List<Map<String, Object>> content = rows.subList(0, pageSize);
+        return new EmployeeFieldsPage(content, encodeCursor((Long) content.get(pageSize - 1).get("id")));
     }
 
     @Override
-    public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+    public Optional<Map<String, Object>> getEmployeeFieldsById(long id, List<String> fields) {
+        return employeeRepository.findFieldsById(id, checkFields(fields));
     }
 
     @Override
+    @Transactional
+    @CachePut(key = "#updatedEmployee.id", unless = "#result == null")
+    public Optional<Employee> updateEmployee(Employee updatedEmployee) {
+        // merging updatedEmployee would fail the version check whenever the caller read an older version,
+        // so the changes are copied onto the current row instead
+        Optional<Employee> currentEmployee = employeeRepository.findById(updatedEmployee.getId());
+        if (currentEmployee.isEmpty()) {
+            return Optional.empty();
+        }
+        Employee savedEmployee = currentEmployee.get();
+        // a re-PUT of the current values writes nothing. Compared with the row read in this transaction, a cached
+        // copy may be older than the row and would swallow a PUT that restores earlier values.
+        if (Objects.equals(savedEmployee.getFirstName(), updatedEmployee.getFirstName())
+                && Objects.equals(savedEmployee.getLastName(), updatedEmployee.getLastName())
+                && Objects.equals(savedEmployee.getEmail(), updatedEmployee.getEmail())) {
+            return currentEmployee;
+        }
+        savedEmployee.setFirstName(updatedEmployee.getFirstName());
+        savedEmployee.setLastName(updatedEmployee.getLastName());
+        savedEmployee.setEmail(updatedEmployee.getEmail());
+        try {
+            // flush inside the try, otherwise a duplicate email would only fail at commit
+            savedEmployee = employeeRepository.saveAndFlush(savedEmployee);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, updatedEmployee);
+        }
+        employeeEmailIndex.add(savedEmployee.getEmail());
+        employeeSearchIndex.index(savedEmployee);
+        employeeListCache.invalidate();
+        employeeJsonCache.evict(savedEmployee.getId());
+        return Optional.of(savedEmployee);
+    }
+
+    @Override
+    @Transactional
+    @CachePut(key = "#id", unless = "#result == null")
+    public Optional<Employee> updateEmployee(long id, long expectedVersion, Employee employee) {
+        Employee updatedEmployee = Employee.builder()
+                .id(id)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .version(expectedVersion + 1)
+                .build();
+        updatedEmployee.normalizeNames();
+
+        int updatedRows;
+        try {
+            updatedRows = employeeRepository.updateByIdAndVersion(id, expectedVersion,
+                    updatedEmployee.getFirstName(), updatedEmployee.getLastName(), updatedEmployee.getEmail(),
+                    updatedEmployee.getFirstNameNormalized(), updatedEmployee.getLastNameNormalized());
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, employee);
+        }
+        if (updatedRows == 0) {
+            // the failure path pays for the second query, the common case is a single UPDATE
+            Optional<Long> currentVersion = employeeRepository.findVersionById(id);
+            if (currentVersion.isEmpty()) {
+                return Optional.empty();
+            }
+            throw new PreconditionFailedException("Employee " + id + " has version " + currentVersion.get()
+                    + ", not the expected " + expectedVersion);
+        }
+        employeeEmailIndex.add(updatedEmployee.getEmail());
+        employeeSearchIndex.index(updatedEmployee);
+        employeeListCache.invalidate();
+        employeeJsonCache.evict(id);
+        return Optional.of(updatedEmployee);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(key = "#id")
+    public boolean patchEmployee(long id, Employee changes) {
+        int updatedRows;
+        try {
+            updatedRows = employeeRepository.patchById(id, changes.getFirstName(), changes.getLastName(), changes.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, changes);
+        }
+        if (updatedRows == 0) {
+            return false;
+        }
+        if (changes.getEmail() != null) {
+            employeeEmailIndex.add(changes.getEmail());
+        }
+        employeeSearchIndex.patch(id, changes);
+        employeeListCache.invalidate();
+        employeeJsonCache.evict(id);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(key = "#id")
     public void deleteEmployee(long id) {
-        employeeRepository.deleteById(id);
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with given id: " + id);
+        }
+        employeeSearchIndex.remove(List.of(id));
+        employeeListCache.invalidate();
+        employeeJsonCache.evict(id);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(allEntries = true)
+    public int deleteEmployees(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int deletedRows = employeeRepository.deleteEmployeesByIds(ids);
+        employeeSearchIndex.remove(ids);
+        employeeListCache.invalidate();
+        employeeJsonCache.evictAll(ids);
+        return deletedRows;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(allEntries = true)
+    public int deleteEmployeesByLastName(String lastName) {
+        int deletedRows = employeeRepository.deleteEmployeesByLastName(lastName);
+        employeeSearchIndex.removeByLastName(lastName);
+        employeeListCache.invalidate();
+        employeeJsonCache.evictAll();
+        return deletedRows;
+    }
+
+    private static List<String> checkFields(List<String> fields) {
+        List<String> requestedFields = fields.stream().map(String::trim).filter(field -> !field.isEmpty()).distinct().toList();
+        if (requestedFields.isEmpty()) {
+            throw new BadRequestException("At least one field must be requested, available fields: "
+                    + EmployeeRepositoryCustom.SELECTABLE_FIELDS);
+        }
+        for (String field : requestedFields) {
+            if (!EmployeeRepositoryCustom.SELECTABLE_FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown field: " + field + ", available fields: "
+                        + EmployeeRepositoryCustom.SELECTABLE_FIELDS);
+            }
+        }
+        return requestedFields;
+    }
+
+    private static RuntimeException translateDuplicateEmail(DataIntegrityViolationException e, Employee employee) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_CONSTRAINT)) {
+                return new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail(), e);
+            }
+        }
+        return e;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // LIKE pattern that matches the normalized prefix literally, ! is the escape character of the search query
+    static String prefixPattern(String prefix) {
+        if (isBlank(prefix)) {
+            return "%";
+        }
+        return Employee.normalize(prefix)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
+    // position after the last row of a search page; the first page starts before every stored name
+    private record SearchCursor(String lastName, String firstName, long id) {
+    }
+
+    // keys of the reads shared through EmployeeReadCoalescer
+    private record EmployeeKey(long id) {
+    }
+
+    private record PageKey(long lastId, int size) {
+    }
+
+    private static String encodeSearchCursor(SearchCursor cursor) {
+        String value = String.join(SEARCH_CURSOR_SEPARATOR, Long.toString(cursor.id()), cursor.lastName(), cursor.firstName());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SearchCursor decodeSearchCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new SearchCursor("", "", 0L);
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEARCH_CURSOR_SEPARATOR, 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Expected id, last name and first name");
+            }
+            return new SearchCursor(parts[1], parts[2], Long.parseLong(parts[0]));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid search cursor: " + cursor, e);
+        }
+    }
+
+    // page cursors are shared with ReactiveEmployeeServiceImpl, a cursor of one stack works on the other
+    static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor: " + cursor, e);
+        }
     }
 }
@@ -0,0 +1,178 @@
+package com.onurhaktan.springboot.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.PendingCreate;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.ServiceUnavailableException;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.EmployeeService;
+import com.onurhaktan.springboot.service.EmployeeWriteBehindService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Write-behind creates: accepted employees wait in a bounded in-memory queue and a single flusher thread writes
+// them in batches through EmployeeService.saveEmployees (one transaction per batch), the same path as the CSV import.
+// A full queue rejects new creates instead of growing the heap. On shutdown new creates are refused and the flusher
+// drains what is already queued before the data source goes away; only a crash loses queued employees.
+@Service
+@Profile("!reactive")
+public class EmployeeWriteBehindServiceImpl implements EmployeeWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindServiceImpl.class);
+
+    // how long the flusher waits for the first employee of a batch before re-checking for shutdown
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final EmployeeService employeeService;
+
+    private final int batchSize;
+
+    private final Duration shutdownTimeout;
+
+    private final BlockingQueue<QueuedCreate> queue;
+
+    private final Cache<String, PendingCreate> pendingCreates;
+
+    private final Counter rejections;
+
+    private final Thread flusher = new Thread(this::flush, "employee-write-behind");
+
+    private volatile boolean accepting = true;
+
+    public EmployeeWriteBehindServiceImpl(EmployeeService employeeService,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${employees.async-create.queue-capacity:10000}") int queueCapacity,
+                                          @Value("${employees.async-create.batch-size:500}") int batchSize,
+                                          @Value("${employees.async-create.status-retention:PT1H}") Duration statusRetention,
+                                          @Value("${employees.async-create.max-tracked:100000}") long maxTracked,
+                                          @Value("${employees.async-create.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.employeeService = employeeService;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.pendingCreates = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(statusRetention)
+                .build();
+
+        Gauge.builder("employees.async.create.queue.depth", queue, Collection::size)
+                .description("Employees accepted by POST /api/employees/async and not yet written")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("employees.async.create.rejections")
+                .description("Asynchronous creates refused because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        accepting = false;
+        flusher.join(shutdownTimeout.toMillis());
+        if (flusher.isAlive()) {
+            log.warn("Gave up draining the write-behind queue, {} queued employees were not written", queue.size());
+            flusher.interrupt();
+        }
+    }
+
+    @Override
+    public PendingCreate enqueue(Employee employee) {
+        if (isBlank(employee.getFirstName()) || isBlank(employee.getLastName()) || isBlank(employee.getEmail())) {
+            throw new BadRequestException("firstName, lastName and email are required");
+        }
+        if (!accepting) {
+            throw new ServiceUnavailableException("Shutting down, not accepting asynchronous creates");
+        }
+
+        PendingCreate pendingCreate = new PendingCreate(UUID.randomUUID().toString());
+        QueuedCreate queued = new QueuedCreate(pendingCreate, employee);
+        pendingCreates.put(pendingCreate.getId(), pendingCreate);
+        if (!queue.offer(queued)) {
+            pendingCreates.invalidate(pendingCreate.getId());
+            rejections.increment();
+            throw new ServiceUnavailableException("Asynchronous create queue is full, retry later");
+        }
+        // shutdown() may have started after the check above; if the flusher has already stopped it will never see
+        // this employee, so take it back. If remove fails the flusher has taken it and will write it.
+        if (!accepting && queue.remove(queued)) {
+            pendingCreates.invalidate(pendingCreate.getId());
+            throw new ServiceUnavailableException("Shutting down, not accepting asynchronous creates");
+        }
+        return pendingCreate;
+    }
+
+    @Override
+    public Optional<PendingCreate> getPendingCreate(String trackingId) {
+        return Optional.ofNullable(pendingCreates.getIfPresent(trackingId));
+    }
+
+    private void flush() {
+        List<QueuedCreate> batch = new ArrayList<>(batchSize);
+        try {
+            while (accepting || !queue.isEmpty()) {
+                QueuedCreate first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // whatever piled up while the previous batch was written goes into this one
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeBatch(List<QueuedCreate> batch) {
+        List<Employee> employees = batch.stream().map(QueuedCreate::employee).toList();
+        try {
+            for (BulkCreateResult result : employeeService.saveEmployees(employees)) {
+                PendingCreate pendingCreate = batch.get(result.index()).pendingCreate();
+                if (result.status() == BulkCreateResult.Status.CREATED) {
+                    pendingCreate.created(result.employee().getId());
+                } else {
+                    pendingCreate.rejected(result.status(), result.message());
+                }
+            }
+        } catch (RuntimeException e) {
+            // a failed batch is rolled back as a whole, keep going with the next one
+            log.warn("Write-behind batch of {} employees failed", batch.size(), e);
+            for (QueuedCreate queued : batch) {
+                queued.pendingCreate().fail("Batch failed: " + e.getMessage());
+            }
+        }
+        batch.clear();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private record QueuedCreate(PendingCreate pendingCreate, Employee employee) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.onurhaktan.springboot.service.impl;
+
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.ReactiveEmployeeRepository;
+import com.onurhaktan.springboot.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+// Every write is a single statement, so the database's autocommit is the transaction boundary.
+// Duplicate emails are left to the unique constraint, there is no check query before the insert.
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    // concurrent writes to the same employee an update gives way to before it fails
+    private static final int UPDATE_ATTEMPTS = 3;
+
+    private final ReactiveEmployeeRepository employeeRepository;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    public Mono<Employee> saveEmployee(Employee employee) {
+        return employeeRepository.insert(employee)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, employee));
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    @Override
+    public Mono<EmployeePage> getEmployeesPage(String cursor, int size) {
+        int pageSize = size <= 0
+                ? EmployeeServiceImpl.DEFAULT_PAGE_SIZE
+                : Math.min(size, EmployeeServiceImpl.MAX_PAGE_SIZE);
+        long lastId = EmployeeServiceImpl.decodeCursor(cursor);
+
+        // one extra row tells us whether there is a next page without a count query
+        return employeeRepository.findNextPage(lastId, pageSize + 1)
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new EmployeePage(rows, null);
+                    }
+                    List<Employee> content = rows.subList(0, pageSize);
+                    return new EmployeePage(content,
+                            EmployeeServiceImpl.encodeCursor(content.get(pageSize - 1).getId()));
+                });
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(long id) {
+        return employeeRepository.findById(id);
+    }
+
+    // Reads the current row and writes it back with a compare-and-set on its version, so a re-PUT of the current
+    // values is skipped based on the row itself; a write that lands in between makes the whole step start over.
+    @Override
+    public Mono<Employee> updateEmployee(Employee updatedEmployee) {
+        return Mono.defer(() -> employeeRepository.findById(updatedEmployee.getId()))
+                .flatMap(currentEmployee -> {
+                    if (Objects.equals(currentEmployee.getFirstName(), updatedEmployee.getFirstName())
+                            && Objects.equals(currentEmployee.getLastName(), updatedEmployee.getLastName())
+                            && Objects.equals(currentEmployee.getEmail(), updatedEmployee.getEmail())) {
+                        return Mono.just(currentEmployee);
+                    }
+                    updatedEmployee.setVersion(currentEmployee.getVersion());
+                    return employeeRepository.update(updatedEmployee)
+                            .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, updatedEmployee))
+                            .flatMap(updatedRows -> {
+                                if (updatedRows == 0) {
+                                    return Mono.error(new OptimisticLockingFailureException(
+                                            "Employee " + updatedEmployee.getId() + " changed while it was updated"));
+                                }
+                                updatedEmployee.setVersion(currentEmployee.getVersion() + 1);
+                                return Mono.just(updatedEmployee);
+                            });
+                })
+                .retryWhen(Retry.max(UPDATE_ATTEMPTS - 1).filter(OptimisticLockingFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure()));
+    }
+
+    @Override
+    public Mono<Boolean> patchEmployee(long id, Employee changes) {
+        return employeeRepository.patchById(id, changes)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateDuplicateEmail(e, changes))
+                .map(updatedRows -> updatedRows > 0);
+    }
+
+    @Override
+    public Mono<Void> deleteEmployee(long id) {
+        return employeeRepository.deleteById(id)
+                .flatMap(deletedRows -> deletedRows == 0
+                        ? Mono.error(new ResourceNotFoundException("Employee not found with given id: " + id))
+                        : Mono.empty());
+    }
+
+    @Override
+    public Mono<Long> deleteEmployees(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return employeeRepository.deleteByIds(ids);
+    }
+
+    @Override
+    public Mono<Long> deleteEmployeesByLastName(String lastName) {
+        return employeeRepository.deleteByLastName(lastName);
+    }
+
+    private static Throwable translateDuplicateEmail(DataIntegrityViolationException e, Employee employee) {
+        String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(Employee.EMAIL_UNIQUE_CONSTRAINT)) {
+            return new ResourceNotFoundException("Employee already exist with given email: " + employee.getEmail(), e);
+        }
+        return e;
+    }
+}
@@ -0,0 +1,29 @@
+package com.onurhaktan.springboot;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+// the reactive profile starts WebFlux on Netty and nothing of the blocking stack
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveProfileApplicationTests {
+
+	@Autowired
+	private ReactiveWebServerApplicationContext applicationContext;
+
+	@Test
+	void contextLoadsOnNettyWithoutJdbc() {
+		Assertions.assertThat(applicationContext.getWebServer()).isInstanceOf(NettyWebServer.class);
+		Assertions.assertThat(applicationContext.getBeanNamesForType(DataSource.class)).isEmpty();
+		Assertions.assertThat(applicationContext.getBeanNamesForType(EntityManagerFactory.class)).isEmpty();
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.onurhaktan.springboot.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.model.Employee;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+public class EmployeeJsonCacheTests {
+
+    private final Employee employee = Employee.builder()
+            .id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").version(3).build();
+
+    @AfterEach
+    public void tearDown(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // JUnit test for load method
+    @DisplayName("JUnit test for load method")
+    @Test
+    public void givenLoadedEmployee_whenGetIfPresent_thenBytesAreServedUntilCommittedEviction(){
+
+        // given - precondition or setup
+        EmployeeJsonCache employeeJsonCache = employeeJsonCache(false, DataSize.ofKilobytes(1));
+        employeeJsonCache.load(1L, () -> Optional.of(employee));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when - action or behaviour that we are going test
+        EmployeeJsonCache.CachedEmployee cached = employeeJsonCache.getIfPresent(1L);
+        employeeJsonCache.evict(1L);
+        EmployeeJsonCache.CachedEmployee beforeCommit = employeeJsonCache.getIfPresent(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then - verify the output
+        Assertions.assertThat(cached.getVersion()).isEqualTo(3);
+        Assertions.assertThat(new String(cached.getJson(), StandardCharsets.UTF_8)).contains("\"email\":\"onur@email.com\"");
+        Assertions.assertThat(cached.hasGzip()).isFalse();
+        Assertions.assertThat(beforeCommit).isSameAs(cached);
+        Assertions.assertThat(employeeJsonCache.getIfPresent(1L)).isNull();
+    }
+
+    // JUnit test for load method racing with a write
+    @DisplayName("JUnit test for load method racing with a write")
+    @Test
+    public void givenWriteCommittedDuringLoad_whenLoad_thenEmployeeIsNotKept(){
+
+        // given - precondition or setup
+        EmployeeJsonCache employeeJsonCache = employeeJsonCache(false, DataSize.ofKilobytes(1));
+
+        // when - action or behaviour that we are going test
+        // the write commits after the employee has been read
+        Optional<EmployeeJsonCache.CachedEmployee> loaded = employeeJsonCache.load(1L, () -> {
+            employeeJsonCache.evict(1L);
+            return Optional.of(employee);
+        });
+
+        // then - verify the output
+        Assertions.assertThat(loaded).isPresent();
+        Assertions.assertThat(employeeJsonCache.getIfPresent(1L)).isNull();
+    }
+
+    // JUnit test for load method with a gzip variant off-heap
+    @DisplayName("JUnit test for load method with a gzip variant off-heap")
+    @Test
+    public void givenOffHeapCacheAndLargeEmployee_whenLoad_thenGzipVariantDecompressesToJson() throws IOException {
+
+        // given - precondition or setup
+        EmployeeJsonCache employeeJsonCache = employeeJsonCache(true, DataSize.ofBytes(64));
+        Employee largeEmployee = Employee.builder()
+                .id(2L).firstName("Onur".repeat(100)).lastName("Haktan").email("onur@email.com").build();
+
+        // when - action or behaviour that we are going test
+        employeeJsonCache.load(2L, () -> Optional.of(largeEmployee));
+        EmployeeJsonCache.CachedEmployee cached = employeeJsonCache.getIfPresent(2L);
+
+        // then - verify the output
+        Assertions.assertThat(cached.hasGzip()).isTrue();
+        Assertions.assertThat(cached.getGzip().length).isLessThan(cached.getJson().length);
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(cached.getGzip()))) {
+            Assertions.assertThat(gzip.readAllBytes()).isEqualTo(cached.getJson());
+        }
+    }
+
+    // JUnit test for the time to live of cached employees
+    @DisplayName("JUnit test for the time to live of cached employees")
+    @Test
+    public void givenExpiredEmployee_whenGetIfPresent_thenReturnNull() throws InterruptedException {
+
+        // given - precondition or setup
+        EmployeeJsonCache employeeJsonCache = new EmployeeJsonCache(new ObjectMapper(), DataSize.ofMegabytes(1),
+                false, DataSize.ofKilobytes(1), Duration.ofMillis(1));
+        employeeJsonCache.load(1L, () -> Optional.of(employee));
+
+        // when - action or behaviour that we are going test
+        Thread.sleep(10);
+
+        // then - verify the output
+        Assertions.assertThat(employeeJsonCache.getIfPresent(1L)).isNull();
+    }
+
+    private static EmployeeJsonCache employeeJsonCache(boolean offHeap, DataSize gzipMinSize) {
+        return new EmployeeJsonCache(new ObjectMapper(), DataSize.ofMegabytes(1), offHeap, gzipMinSize,
+                Duration.ofMinutes(10));
+    }
+}
@@ -0,0 +1,155 @@
+package com.onurhaktan.springboot.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EmployeeListCacheTests {
+
+    private EmployeeListCache employeeListCache;
+
+    private final List<Employee> employees = List.of(
+            Employee.builder().id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").build());
+
+    @BeforeEach
+    public void setup(){
+        employeeListCache = new EmployeeListCache(new ObjectMapper(), new EmployeeReadCoalescer(), DataSize.ofMegabytes(1),
+                Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    public void tearDown(){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // JUnit test for getIfCurrent method
+    @DisplayName("JUnit test for getIfCurrent method")
+    @Test
+    public void givenLoadedList_whenGetIfCurrent_thenBytesAreServedUntilInvalidated(){
+
+        // given - precondition or setup
+        EmployeeListCache.CachedList loaded = employeeListCache.load(() -> employees);
+
+        // when - action or behaviour that we are going test
+        EmployeeListCache.CachedList cached = employeeListCache.getIfCurrent();
+        employeeListCache.invalidate();
+
+        // then - verify the output
+        Assertions.assertThat(cached).isSameAs(loaded);
+        Assertions.assertThat(new String(cached.json(), StandardCharsets.UTF_8)).contains("\"email\":\"onur@email.com\"");
+        Assertions.assertThat(employeeListCache.getIfCurrent()).isNull();
+    }
+
+    // JUnit test for load method racing with a write
+    @DisplayName("JUnit test for load method racing with a write")
+    @Test
+    public void givenWriteCommittedDuringLoad_whenLoad_thenListIsNotKept(){
+
+        // given - precondition or setup
+        // the write commits after the list has been read from the table
+        EmployeeListCache.CachedList loaded = employeeListCache.load(() -> {
+            employeeListCache.invalidate();
+            return employees;
+        });
+
+        // when - action or behaviour that we are going test
+        EmployeeListCache.CachedList cached = employeeListCache.getIfCurrent();
+
+        // then - verify the output
+        Assertions.assertThat(loaded.listVersion().count()).isEqualTo(1);
+        Assertions.assertThat(cached).isNull();
+    }
+
+    // JUnit test for invalidate method inside a transaction
+    @DisplayName("JUnit test for invalidate method inside a transaction")
+    @Test
+    public void givenOpenTransaction_whenInvalidate_thenVersionChangesOnCommit(){
+
+        // given - precondition or setup
+        employeeListCache.load(() -> employees);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when - action or behaviour that we are going test
+        employeeListCache.invalidate();
+        EmployeeListCache.CachedList beforeCommit = employeeListCache.getIfCurrent();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // then - verify the output
+        Assertions.assertThat(beforeCommit).isNotNull();
+        Assertions.assertThat(employeeListCache.getIfCurrent()).isNull();
+    }
+
+    // JUnit test for concurrent load calls
+    @DisplayName("JUnit test for concurrent load calls")
+    @Test
+    public void givenConcurrentCallers_whenLoad_thenListIsQueriedOnce() throws Exception {
+
+        // given - precondition or setup
+        int callers = 8;
+        EmployeeReadCoalescer employeeReadCoalescer = new EmployeeReadCoalescer();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        employeeReadCoalescer.bindTo(meterRegistry);
+        employeeListCache = new EmployeeListCache(new ObjectMapper(), employeeReadCoalescer, DataSize.ofMegabytes(1),
+                Duration.ofMinutes(5));
+        AtomicInteger queries = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // when - action or behaviour that we are going test
+        List<Future<EmployeeListCache.CachedList>> loads = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                loads.add(executor.submit(() -> employeeListCache.load(() -> {
+                    queries.incrementAndGet();
+                    await(release);
+                    return employees;
+                })));
+            }
+            // every caller but the first joins the load that is in flight
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (meterRegistry.get("employees.reads.coalesced").functionCounter().count() < callers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (Future<EmployeeListCache.CachedList> load : loads) {
+                load.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(queries.get()).isEqualTo(1);
+        Assertions.assertThat(employeeListCache.getIfCurrent()).isSameAs(loads.get(0).get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
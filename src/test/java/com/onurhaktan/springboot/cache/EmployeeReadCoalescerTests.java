@@ -0,0 +1,96 @@
+package com.onurhaktan.springboot.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class EmployeeReadCoalescerTests {
+
+    private EmployeeReadCoalescer employeeReadCoalescer;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup(){
+        employeeReadCoalescer = new EmployeeReadCoalescer();
+        meterRegistry = new SimpleMeterRegistry();
+        employeeReadCoalescer.bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    // JUnit test for load method with a failing load
+    @DisplayName("JUnit test for load method with a failing load")
+    @Test
+    public void givenFailingLoad_whenLoadIsJoined_thenEveryCallerGetsTheFailure() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> employeeReadCoalescer.load("key", () -> {
+            loading.countDown();
+            await(fail);
+            throw new IllegalStateException("database is down");
+        }));
+        loading.await(10, TimeUnit.SECONDS);
+
+        // when - action or behaviour that we are going test
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> employeeReadCoalescer.load("key", () -> "not loaded"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("employees.reads.coalesced").functionCounter().count() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        fail.countDown();
+
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        Assertions.assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        // the failed load is not remembered
+        Assertions.assertThat((String) employeeReadCoalescer.load("key", () -> "loaded")).isEqualTo("loaded");
+    }
+
+    // JUnit test for load method inside a transaction
+    @DisplayName("JUnit test for load method inside a transaction")
+    @Test
+    public void givenLoadInFlight_whenLoadInsideTransaction_thenLoadsOnItsOwn() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Object> outside = CompletableFuture.supplyAsync(() -> employeeReadCoalescer.load("key", () -> {
+            loading.countDown();
+            await(finish);
+            return "before the write";
+        }));
+        loading.await(10, TimeUnit.SECONDS);
+
+        // when - action or behaviour that we are going test
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        String inside = employeeReadCoalescer.load("key", () -> "after the write");
+        finish.countDown();
+
+        // then - verify the output
+        Assertions.assertThat(inside).isEqualTo("after the write");
+        Assertions.assertThat(outside.get(10, TimeUnit.SECONDS)).isEqualTo("before the write");
+        Assertions.assertThat(meterRegistry.get("employees.reads.coalesced").functionCounter().count()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
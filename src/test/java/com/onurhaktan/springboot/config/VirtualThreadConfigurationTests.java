@@ -0,0 +1,109 @@
+package com.onurhaktan.springboot.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+// The virtual thread tests only run on a Java 21 runtime, which is what the java21 profile builds for:
+// mvn -Pjava21 test
+public class VirtualThreadConfigurationTests {
+
+    private final VirtualThreadConfiguration virtualThreadConfiguration = new VirtualThreadConfiguration();
+
+    // JUnit test for applicationTaskExecutor method on a runtime without virtual threads
+    @DisplayName("JUnit test for applicationTaskExecutor method on a runtime without virtual threads")
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @Test
+    public void givenJava17Runtime_whenApplicationTaskExecutor_thenThrowsIllegalStateException(){
+
+        // given - precondition or setup
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        Assertions.assertThatThrownBy(virtualThreadConfiguration::applicationTaskExecutor)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21")
+                .hasCauseInstanceOf(NoSuchMethodException.class);
+    }
+
+    // JUnit test for virtualThreadProtocolHandlerCustomizer method on a runtime without virtual threads
+    @DisplayName("JUnit test for virtualThreadProtocolHandlerCustomizer method on a runtime without virtual threads")
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @Test
+    public void givenJava17Runtime_whenCustomizeProtocolHandler_thenThrowsIllegalStateExceptionAndKeepsExecutor(){
+
+        // given - precondition or setup
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+        TomcatProtocolHandlerCustomizer<ProtocolHandler> customizer = protocolHandlerCustomizer();
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> customizer.customize(protocolHandler))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Java 21");
+        then(protocolHandler).shouldHaveNoInteractions();
+    }
+
+    // JUnit test for applicationTaskExecutor method on a runtime with virtual threads
+    @DisplayName("JUnit test for applicationTaskExecutor method on a runtime with virtual threads")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @Test
+    public void givenJava21Runtime_whenApplicationTaskExecutor_thenTasksRunOnVirtualThreads() throws Exception {
+
+        // given - precondition or setup
+        AsyncTaskExecutor taskExecutor = virtualThreadConfiguration.applicationTaskExecutor();
+
+        // when - action or behaviour that we are going test
+        Thread thread = taskExecutor.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+
+        // then - verify the output
+        Assertions.assertThat(isVirtual(thread)).isTrue();
+    }
+
+    // JUnit test for virtualThreadProtocolHandlerCustomizer method on a runtime with virtual threads
+    @DisplayName("JUnit test for virtualThreadProtocolHandlerCustomizer method on a runtime with virtual threads")
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @Test
+    public void givenJava21Runtime_whenCustomizeProtocolHandler_thenRequestsRunOnVirtualThreads() throws Exception {
+
+        // given - precondition or setup
+        ProtocolHandler protocolHandler = mock(ProtocolHandler.class);
+
+        // when - action or behaviour that we are going test
+        protocolHandlerCustomizer().customize(protocolHandler);
+
+        // then - verify the output
+        ArgumentCaptor<Executor> executor = ArgumentCaptor.forClass(Executor.class);
+        then(protocolHandler).should().setExecutor(executor.capture());
+        ExecutorService executorService = (ExecutorService) executor.getValue();
+        try {
+            Thread thread = executorService.submit(Thread::currentThread).get(10, TimeUnit.SECONDS);
+            Assertions.assertThat(isVirtual(thread)).isTrue();
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TomcatProtocolHandlerCustomizer<ProtocolHandler> protocolHandlerCustomizer() {
+        return (TomcatProtocolHandlerCustomizer<ProtocolHandler>)
+                virtualThreadConfiguration.virtualThreadProtocolHandlerCustomizer();
+    }
+
+    // Thread.isVirtual is Java 21 API, the default build compiles for Java 17
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
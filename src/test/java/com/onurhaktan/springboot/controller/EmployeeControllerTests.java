@@ -1,20 +1,45 @@
 package com.onurhaktan.springboot.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.cache.EmployeeReadCoalescer;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.EmployeeBatch;
+import com.onurhaktan.springboot.dto.EmployeeFieldsPage;
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.dto.ImportJob;
+import com.onurhaktan.springboot.dto.PendingCreate;
+import com.onurhaktan.springboot.exception.PreconditionFailedException;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.exception.ServiceUnavailableException;
 import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.EmployeeImportService;
 import com.onurhaktan.springboot.service.EmployeeService;
+import com.onurhaktan.springboot.service.EmployeeWriteBehindService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import  org.hamcrest.CoreMatchers;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -23,6 +48,7 @@ import static org.mockito.BDDMockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 @WebMvcTest
+@Import({EmployeeListCache.class, EmployeeJsonCache.class, EmployeeReadCoalescer.class})
 public class EmployeeControllerTests {
 
     // we can create HTTP requests with MockMvc to check if Controller methods provide the correct responses
@@ -33,10 +59,29 @@ public class EmployeeControllerTests {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeImportService employeeImportService;
+
+    @MockBean
+    private EmployeeWriteBehindService employeeWriteBehindService;
+
+    // the real response caches, the mocked service never invalidates them so each test starts with empty ones
+    @Autowired
+    private EmployeeListCache employeeListCache;
+
+    @Autowired
+    private EmployeeJsonCache employeeJsonCache;
+
     // The ObjectMapper is used to handle JSON data, ensuring that Controller methods interact correctly with JSON data
     @Autowired
     private ObjectMapper objectMapper;
 
+    @BeforeEach
+    public void setup(){
+        employeeListCache.invalidate();
+        employeeJsonCache.evictAll();
+    }
+
     // JUnit test for createEmployee controller
     @Test
     public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() throws Exception {
@@ -174,9 +219,8 @@ public class EmployeeControllerTests {
                 .email("goxu@email.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
         given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+                .willAnswer((invocation) -> Optional.of(invocation.getArgument(0)));
 
         // when - action or behaviour that we  are going test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -210,9 +254,7 @@ public class EmployeeControllerTests {
                 .email("goxu@email.com")
                 .build();
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-        given(employeeService.updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+        given(employeeService.updateEmployee(any(Employee.class))).willReturn(Optional.empty());
 
         // when - action or behaviour that we  are going test
 
@@ -243,4 +285,686 @@ public class EmployeeControllerTests {
                 .andDo(print());
 
     }
+
+    // JUnit test for getEmployeesPage controller
+    @Test
+    public void givenCursorAndSize_whenGetEmployeesPage_thenReturnPage() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+
+        given(employeeService.getEmployeesPage("MA", 1))
+                .willReturn(new EmployeePage(List.of(employee), "MQ"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("cursor", "MA")
+                .param("size", "1"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.content[0].email", CoreMatchers.is(employee.getEmail())))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("MQ")));
+    }
+
+    // JUnit test for exportEmployees controller
+    @Test
+    public void givenEmployees_whenExportEmployees_thenReturnNewlineDelimitedJson() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee);
+            consumer.accept(employee);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn()));
+
+        // then - verify the result or output using assert statements
+        String line = objectMapper.writeValueAsString(employee);
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(EmployeeController.APPLICATION_NDJSON))
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    // JUnit test for createEmployees controller
+    @Test
+    public void givenListOfEmployees_whenCreateEmployees_thenReturnResultPerEmployee() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = new ArrayList<>();
+        listOfEmployees.add(Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build());
+
+        listOfEmployees.add(Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("onur@email.com")
+                .build());
+
+        given(employeeService.saveEmployees(anyList()))
+                .willAnswer((invocation) -> {
+                    List<Employee> employees = invocation.getArgument(0);
+                    return List.of(BulkCreateResult.created(0, employees.get(0)),
+                            BulkCreateResult.rejected(1, BulkCreateResult.Status.DUPLICATE, employees.get(1), "duplicate"));
+                });
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$[0].status", CoreMatchers.is("CREATED")))
+                .andExpect(jsonPath("$[1].status", CoreMatchers.is("DUPLICATE")));
+    }
+
+    // JUnit test for createEmployees controller with more employees than allowed
+    @Test
+    public void givenTooManyEmployees_whenCreateEmployees_thenReturn400() throws Exception {
+
+        // given - precondition or setup
+        List<Employee> listOfEmployees = Collections.nCopies(1001, Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build());
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(listOfEmployees)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).saveEmployees(anyList());
+    }
+
+    // JUnit test for importEmployees controller
+    @Test
+    public void givenCsvFile_whenImportEmployees_thenReturnAcceptedJob() throws Exception {
+
+        // given - precondition or setup
+        MockMultipartFile file = new MockMultipartFile("file", "employees.csv", "text/csv",
+                "first_name,last_name,email\nOnur,Haktan,onur@email.com\n".getBytes());
+
+        given(employeeImportService.startImport(any(Path.class)))
+                .willReturn(new ImportJob("job-1", Path.of("rejected.csv")));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(multipart("/api/employees/import").file(file));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", CoreMatchers.is("job-1")))
+                .andExpect(jsonPath("$.status", CoreMatchers.is("RUNNING")));
+    }
+
+    // JUnit test for getImport controller - negative scenario
+    @Test
+    public void givenUnknownJobId_whenGetImport_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        given(employeeImportService.getImport("unknown")).willReturn(Optional.empty());
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/import/{jobId}", "unknown"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    // Junit test for patchEmployee REST API - positive scenario
+    @Test
+    public void givenChangedFields_whenPatchEmployee_thenReturn204() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(true);
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"goxu@email.com\"}"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNoContent())
+                .andDo(print());
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // Junit test for patchEmployee REST API - negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenPatchEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.patchEmployee(eq(employeeId), any(Employee.class))).willReturn(false);
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"goxu@email.com\"}"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    // Junit test for updatedEmployee REST API - the no-op check is left to the service
+    @Test
+    public void givenUnchangedEmployee_whenUpdateEmployee_thenServiceDecidesWithoutCachedRead() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+
+        Employee currentEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .version(2L)
+                .build();
+
+        Employee unchangedEmployee = Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+
+        given(employeeService.updateEmployee(any(Employee.class))).willReturn(Optional.of(currentEmployee));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(unchangedEmployee)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.id", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.email", CoreMatchers.is(currentEmployee.getEmail())));
+        // the cached copy may be older than the row, so it must not decide that nothing changed
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // Junit test for deleteEmployee REST API - negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        willThrow(new ResourceNotFoundException("Employee not found with given id: " + employeeId))
+                .given(employeeService).deleteEmployee(employeeId);
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees/{id}", employeeId));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotFound())
+                .andDo(print());
+    }
+
+    // Junit test for deleteEmployees REST API
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturn200() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(3);
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", "1,2,3"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().string(CoreMatchers.startsWith("3 employees")));
+    }
+
+    // Junit test for deleteEmployees REST API with too many ids
+    @Test
+    public void givenTooManyEmployeeIds_whenDeleteEmployees_thenReturn400() throws Exception {
+
+        // given - precondition or setup
+        String ids = String.join(",", IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList());
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("ids", ids));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).deleteEmployees(anyList());
+    }
+
+    // Junit test for deleteEmployeesByLastName REST API
+    @Test
+    public void givenLastName_whenDeleteEmployeesByLastName_thenReturn200() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployeesByLastName("Haktan")).willReturn(2);
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(delete("/api/employees").param("lastName", "Haktan"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(content().string(CoreMatchers.startsWith("2 employees")));
+    }
+
+    // JUnit test for getEmployeesByIds controller
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(new EmployeeBatch(List.of(employee), List.of(2L)));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "1,2"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees.size()", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.employees[0].id", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.missingIds[0]", CoreMatchers.is(2)));
+    }
+
+    // JUnit test for getEmployeesByIds controller with too many ids
+    @Test
+    public void givenTooManyEmployeeIds_whenGetEmployeesByIds_thenReturn400() throws Exception {
+
+        // given - precondition or setup
+        String ids = String.join(",", IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList());
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", ids));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).getEmployeesByIds(anyList());
+    }
+
+    // JUnit test for getEmployeeFieldsById controller
+    @Test
+    public void givenFields_whenGetEmployeeFieldsById_thenReturnOnlyThoseFields() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.getEmployeeFieldsById(employeeId, List.of("id", "email")))
+                .willReturn(Optional.of(Map.of("id", employeeId, "email", "onur@email.com")));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId).param("fields", "id,email"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", CoreMatchers.is(1)))
+                .andExpect(jsonPath("$.email", CoreMatchers.is("onur@email.com")))
+                .andExpect(jsonPath("$.firstName").doesNotExist());
+    }
+
+    // JUnit test for getEmployeeFieldsPage controller
+    @Test
+    public void givenFields_whenGetEmployeeFieldsPage_thenReturnOnlyThoseFields() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeFieldsPage(List.of("email"), null, 20))
+                .willReturn(new EmployeeFieldsPage(List.of(Map.of("id", 1L, "email", "onur@email.com"),
+                        Map.of("id", 2L, "email", "goksu@email.com")), null));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "email"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.content[1].email", CoreMatchers.is("goksu@email.com")))
+                .andExpect(jsonPath("$.content[1].firstName").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    // JUnit test for getEmployeeFieldsPage controller with a page size
+    @Test
+    public void givenFieldsAndSize_whenGetEmployees_thenReturnFieldsPage() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeFieldsPage(List.of("id"), "MQ", 5))
+                .willReturn(new EmployeeFieldsPage(List.of(Map.of("id", 2L)), "Mg"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("fields", "id")
+                .param("size", "5")
+                .param("cursor", "MQ"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content[0].id", CoreMatchers.is(2)))
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("Mg")));
+        verify(employeeService, never()).getEmployeesPage(any(), anyInt());
+    }
+
+    // JUnit test for getEmployeesByIds controller with fields
+    @Test
+    public void givenIdsAndFields_whenGetEmployees_thenReturn400() throws Exception {
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("ids", "1,2")
+                .param("fields", "email"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verifyNoInteractions(employeeService);
+    }
+
+    // JUnit test for searchEmployees controller
+    @Test
+    public void givenNamePrefix_whenSearchEmployees_thenReturnEmployeePage() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").build();
+        employee.normalizeNames();
+        given(employeeService.searchEmployees(null, "hak", null, 20))
+                .willReturn(new EmployeePage(List.of(employee), "next"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("lastName", "hak"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content[0].lastName", CoreMatchers.is("Haktan")))
+                .andExpect(jsonPath("$.content[0].lastNameNormalized").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", CoreMatchers.is("next")));
+    }
+
+    // JUnit test for searchEmployeesByText controller
+    @Test
+    public void givenSearchText_whenSearchEmployeesByText_thenReturnRankedHits() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").build();
+        given(employeeService.searchEmployeesByText("hakton", 5))
+                .willReturn(List.of(new EmployeeSearchHit(employee, 2.5f)));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/search").param("q", "hakton").param("limit", "5"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$[0].employee.lastName", CoreMatchers.is("Haktan")))
+                .andExpect(jsonPath("$[0].score", CoreMatchers.is(2.5)));
+    }
+
+    // JUnit test for createEmployeeAsync controller
+    @Test
+    public void givenEmployeeObject_whenCreateEmployeeAsync_thenReturnAcceptedTrackingId() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+        given(employeeWriteBehindService.enqueue(any(Employee.class)))
+                .willReturn(new PendingCreate("tracking-1"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isAccepted())
+                .andDo(print())
+                .andExpect(jsonPath("$.id", CoreMatchers.is("tracking-1")))
+                .andExpect(jsonPath("$.status", CoreMatchers.is("QUEUED")));
+    }
+
+    // JUnit test for createEmployeeAsync controller with a full queue
+    @Test
+    public void givenFullQueue_whenCreateEmployeeAsync_thenReturn503() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+        given(employeeWriteBehindService.enqueue(any(Employee.class)))
+                .willThrow(new ServiceUnavailableException("Asynchronous create queue is full, retry later"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(post("/api/employees/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isServiceUnavailable())
+                .andDo(print());
+    }
+
+    // JUnit test for getPendingCreate controller
+    @Test
+    public void givenWrittenEmployee_whenGetPendingCreate_thenReturnCreatedStatus() throws Exception {
+
+        // given - precondition or setup
+        PendingCreate pendingCreate = new PendingCreate("tracking-1");
+        pendingCreate.created(7L);
+        given(employeeWriteBehindService.getPendingCreate("tracking-1")).willReturn(Optional.of(pendingCreate));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/async/{trackingId}", "tracking-1"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", CoreMatchers.is("CREATED")))
+                .andExpect(jsonPath("$.employeeId", CoreMatchers.is(7)));
+    }
+
+    // JUnit test for getEmployeeById controller with a current If-None-Match
+    @Test
+    public void givenCurrentETag_whenGetEmployeeById_thenReturn304WithoutLoadingEmployee() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeVersion(1L)).willReturn(Optional.of(3L));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\""));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // JUnit test for getEmployeeById controller returning the ETag
+    @Test
+    public void givenEmployeeId_whenGetEmployeeById_thenReturnVersionAsETag() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .version(3L)
+                .build();
+        given(employeeService.getEmployeeById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", 1L));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version", CoreMatchers.is(3)));
+    }
+
+    // JUnit test for getAllEmployees controller with a current If-None-Match
+    @Test
+    public void givenCurrentListETag_whenGetAllEmployees_thenReturn304WithoutLoadingEmployees() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeListVersion()).willReturn(new EmployeeListVersion(2, 7, 5));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"2-7-5\""));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isNotModified())
+                .andDo(print());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    // JUnit test for updateEmployee controller with If-Match
+    @Test
+    public void givenIfMatch_whenUpdateEmployee_thenConditionalUpdateWithoutRead() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+        given(employeeService.updateEmployee(eq(1L), eq(3L), any(Employee.class)))
+                .willReturn(Optional.of(Employee.builder().id(1L).firstName("Göksu").lastName("Haktan")
+                        .email("goksu@email.com").version(4L).build()));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // JUnit test for updateEmployee controller with a stale If-Match
+    @Test
+    public void givenStaleIfMatch_whenUpdateEmployee_thenReturn412() throws Exception {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+        given(employeeService.updateEmployee(eq(1L), eq(3L), any(Employee.class)))
+                .willThrow(new PreconditionFailedException("Employee 1 has version 4, not the expected 3"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(put("/api/employees/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isPreconditionFailed())
+                .andDo(print());
+    }
+
+    // JUnit test for getAllEmployees controller served from the list cache
+    @Test
+    public void givenCachedList_whenGetAllEmployees_thenServedWithoutCallingTheService() throws Exception {
+
+        // given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(List.of(Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build()));
+        mockMvc.perform(get("/api/employees"));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees"));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1-0\""))
+                .andExpect(jsonPath("$[0].email", CoreMatchers.is("onur@email.com")));
+        verify(employeeService, times(1)).getAllEmployees();
+    }
+
+    // JUnit test for getEmployeeById controller served from the JSON cache
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenServedWithoutCallingTheService() throws Exception {
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(Employee.builder()
+                .id(employeeId)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .version(2L)
+                .build()));
+        mockMvc.perform(get("/api/employees/{id}", employeeId));
+
+        // when - action or behaviour that we  are going test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+
+        // then - verify the result or output using assert statements
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.email", CoreMatchers.is("onur@email.com")));
+        verify(employeeService, times(1)).getEmployeeById(employeeId);
+    }
 }
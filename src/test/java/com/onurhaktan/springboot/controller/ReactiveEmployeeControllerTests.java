@@ -0,0 +1,210 @@
+package com.onurhaktan.springboot.controller;
+
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    // JUnit test for createEmployee reactive controller
+    @Test
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Onur")
+                .jsonPath("$.email").isEqualTo("onur@email.com");
+    }
+
+    // JUnit test for getAllEmployees reactive controller streaming NDJSON
+    @Test
+    public void givenListOfEmployees_whenGetAllEmployeesAsNdjson_thenReturnOneEmployeePerLine() {
+
+        // given - precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(
+                Employee.builder().id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").build(),
+                Employee.builder().id(2L).firstName("Göksu").lastName("Haktan").email("goksu@email.com").build()));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class).hasSize(2);
+    }
+
+    // JUnit test for getEmployeesPage reactive controller
+    @Test
+    public void givenSizeAndCursor_whenGetEmployees_thenReturnPage() {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeesPage("MQ", 1)).willReturn(Mono.just(new EmployeePage(List.of(
+                Employee.builder().id(2L).firstName("Göksu").lastName("Haktan").email("goksu@email.com").build()),
+                "Mg")));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees?size=1&cursor=MQ").exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].id").isEqualTo(2)
+                .jsonPath("$.nextCursor").isEqualTo("Mg");
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    // JUnit test for getEmployeeById reactive controller negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnNotFound() {
+
+        // given - precondition or setup
+        given(employeeService.getEmployeeById(1L)).willReturn(Mono.empty());
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isNotFound();
+    }
+
+    // JUnit test for updateEmployee reactive controller
+    @Test
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenReturnNewVersionAndETag() {
+
+        // given - precondition or setup
+        given(employeeService.updateEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Employee updatedEmployee = invocation.getArgument(0);
+            updatedEmployee.setVersion(4L);
+            return Mono.just(updatedEmployee);
+        });
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().firstName("Göksu").lastName("Haktan").email("goksu@email.com").build())
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.version").isEqualTo(4);
+    }
+
+    // JUnit test for updateEmployee reactive controller with an unchanged employee
+    @Test
+    public void givenUnchangedEmployee_whenUpdateEmployee_thenServiceDecidesWithoutCachedRead() {
+
+        // given - precondition or setup
+        Employee savedEmployee = Employee.builder().id(1L).firstName("Onur").lastName("Haktan").email("onur@email.com").build();
+        given(employeeService.updateEmployee(any(Employee.class))).willReturn(Mono.just(savedEmployee));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.put().uri("/api/employees/{id}", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build())
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+        verify(employeeService, never()).getEmployeeById(anyLong());
+    }
+
+    // JUnit test for deleteEmployee reactive controller negative scenario
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenReturnNotFound() {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployee(1L))
+                .willReturn(Mono.error(new ResourceNotFoundException("Employee not found with given id: 1")));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete().uri("/api/employees/{id}", 1L).exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Employee not found with given id: 1");
+    }
+
+    // JUnit test for deleteEmployees reactive controller
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturn200() {
+
+        // given - precondition or setup
+        given(employeeService.deleteEmployees(List.of(1L, 2L, 3L))).willReturn(Mono.just(3L));
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/api/employees").queryParam("ids", "1,2,3").build())
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("3 employees deleted succesfully");
+    }
+
+    // JUnit test for deleteEmployees reactive controller with too many ids
+    @Test
+    public void givenTooManyEmployeeIds_whenDeleteEmployees_thenReturn400() {
+
+        // given - precondition or setup
+        String ids = String.join(",", IntStream.rangeClosed(1, 101).mapToObj(String::valueOf).toList());
+
+        // when - action or behaviour that we are going test
+        WebTestClient.ResponseSpec response = webTestClient.delete()
+                .uri(uriBuilder -> uriBuilder.path("/api/employees").queryParam("ids", ids).build())
+                .exchange();
+
+        // then - verify the result or output using assert statements
+        response.expectStatus().isBadRequest();
+        verify(employeeService, never()).deleteEmployees(anyList());
+    }
+}
@@ -0,0 +1,219 @@
+package com.onurhaktan.springboot.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.Cookie;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// two embedded H2 databases stand in for the MySQL primary and replica,
+// each one only knows its own name so a query shows where it was routed
+public class ReplicaRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+
+    private EmbeddedDatabase replica;
+
+    @BeforeEach
+    public void setup(){
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    public void tearDown(){
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    // JUnit test for routing read-only and read-write transactions
+    @DisplayName("JUnit test for routing read-only and read-write transactions")
+    @Test
+    public void givenReadOnlyTransaction_whenQuery_thenUseReplica(){
+
+        // given - precondition or setup
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), Duration.ZERO);
+
+        // when - action or behaviour that we are going test
+        String readOnlyTarget = databaseName(routingDataSource, true);
+        String readWriteTarget = databaseName(routingDataSource, false);
+
+        // then - verify the output
+        Assertions.assertThat(readOnlyTarget).isEqualTo("replica");
+        Assertions.assertThat(readWriteTarget).isEqualTo("primary");
+    }
+
+    // JUnit test for reading your own writes after a write transaction
+    @DisplayName("JUnit test for reading your own writes after a write transaction")
+    @Test
+    public void givenRecentWrite_whenReadOnlyQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), Duration.ofMinutes(1));
+        Assertions.assertThat(databaseName(routingDataSource, true)).isEqualTo("replica");
+
+        // when - action or behaviour that we are going test
+        databaseName(routingDataSource, false);
+        String readOnlyTarget = databaseName(routingDataSource, true);
+
+        // then - verify the output
+        Assertions.assertThat(readOnlyTarget).isEqualTo("primary");
+    }
+
+    // JUnit test for reading your own writes per client
+    @DisplayName("JUnit test for reading your own writes per client")
+    @Test
+    public void givenWriteByOneClient_whenOtherClientReads_thenOnlyTheWriterUsesPrimary() throws Exception {
+
+        // given - precondition or setup
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica),
+                Duration.ofMinutes(1), ReplicaRoutingDataSource.ReadYourWritesScope.CLIENT);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter();
+        List<String> writerTargets = new ArrayList<>();
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), writeResponse, (request, response) -> {
+            databaseName(routingDataSource, false);
+            writerTargets.add(databaseName(routingDataSource, true));
+        });
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesFilter.COOKIE);
+
+        // when - action or behaviour that we are going test
+        List<String> targets = new ArrayList<>();
+        MockHttpServletRequest writerRequest = new MockHttpServletRequest();
+        writerRequest.setCookies(cookie);
+        filter.doFilter(writerRequest, new MockHttpServletResponse(),
+                (request, response) -> targets.add(databaseName(routingDataSource, true)));
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                (request, response) -> targets.add(databaseName(routingDataSource, true)));
+
+        // then - verify the output
+        Assertions.assertThat(cookie).isNotNull();
+        Assertions.assertThat(writerTargets).containsExactly("primary");
+        Assertions.assertThat(targets).containsExactly("primary", "replica");
+        Assertions.assertThat(databaseName(routingDataSource, true)).isEqualTo("replica");
+    }
+
+    // JUnit test for reads that must be served by the primary
+    @DisplayName("JUnit test for reads that must be served by the primary")
+    @Test
+    public void givenOnPrimary_whenReadOnlyQuery_thenUsePrimaryWithoutCountingAsWrite(){
+
+        // given - precondition or setup
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, Map.of("replica-1", replica), Duration.ofMinutes(1));
+
+        // when - action or behaviour that we are going test
+        String onPrimaryTarget = ReplicaRoutingDataSource.onPrimary(() -> databaseName(routingDataSource, true));
+        String readOnlyTarget = databaseName(routingDataSource, true);
+
+        // then - verify the output
+        Assertions.assertThat(onPrimaryTarget).isEqualTo("primary");
+        Assertions.assertThat(readOnlyTarget).isEqualTo("replica");
+    }
+
+    // JUnit test for failing over to the primary when the replica is down
+    @DisplayName("JUnit test for failing over to the primary when the replica is down")
+    @Test
+    public void givenUnreachableReplica_whenReadOnlyQuery_thenUsePrimary(){
+
+        // given - precondition or setup
+        DataSource unreachableReplica = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", "");
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, Map.of("replica-1", unreachableReplica), Duration.ZERO);
+
+        // when - action or behaviour that we are going test
+        String readOnlyTarget = databaseName(routingDataSource, true);
+
+        // then - verify the output
+        Assertions.assertThat(readOnlyTarget).isEqualTo("primary");
+        Assertions.assertThat(routingDataSource.isHealthy("replica-1")).isFalse();
+    }
+
+    // JUnit test for failing over to the primary when the replica does not answer
+    @DisplayName("JUnit test for failing over to the primary when the replica does not answer")
+    @Test
+    public void givenReplicaThatDoesNotAnswer_whenReadOnlyQuery_thenUsePrimaryWithinConnectionTimeout() throws IOException {
+
+        // given - precondition or setup
+        // takes the TCP connection but never answers the handshake, like a replica that hangs
+        try (ServerSocket hangingReplica = new ServerSocket(0);
+             HikariDataSource replicaPool = DataSourceRoutingConfiguration.replicaPool("replica-1",
+                     "jdbc:h2:tcp://localhost:" + hangingReplica.getLocalPort() + "/hanging", "sa", "",
+                     Duration.ofMillis(500))) {
+            ReplicaRoutingDataSource routingDataSource =
+                    new ReplicaRoutingDataSource(primary, Map.of("replica-1", replicaPool), Duration.ZERO);
+
+            // when - action or behaviour that we are going test
+            long started = System.nanoTime();
+            String readOnlyTarget = databaseName(routingDataSource, true);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            // then - verify the output
+            Assertions.assertThat(readOnlyTarget).isEqualTo("primary");
+            Assertions.assertThat(routingDataSource.isHealthy("replica-1")).isFalse();
+            Assertions.assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        }
+    }
+
+    // JUnit test for the replica health check
+    @DisplayName("JUnit test for the replica health check")
+    @Test
+    public void givenRecoveredReplica_whenCheckReplicas_thenRouteReadsToItAgain(){
+
+        // given - precondition or setup
+        DataSource unreachableReplica = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", "");
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary,
+                Map.of("replica-1", unreachableReplica, "replica-2", replica), Duration.ZERO);
+
+        // when - action or behaviour that we are going test
+        routingDataSource.checkReplicas();
+
+        // then - verify the output
+        Assertions.assertThat(routingDataSource.isHealthy("replica-1")).isFalse();
+        Assertions.assertThat(routingDataSource.isHealthy("replica-2")).isTrue();
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThat(databaseName(routingDataSource, true)).isEqualTo("replica");
+        }
+    }
+
+    private static String databaseName(ReplicaRoutingDataSource routingDataSource, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from database_name", String.class));
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table database_name (name varchar(20))");
+        jdbcTemplate.update("insert into database_name (name) values (?)", name);
+        return database;
+    }
+}
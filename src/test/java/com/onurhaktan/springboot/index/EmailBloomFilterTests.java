@@ -0,0 +1,50 @@
+package com.onurhaktan.springboot.index;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EmailBloomFilterTests {
+
+    // JUnit test for mightContain method with added emails
+    @DisplayName("JUnit test for mightContain method with added emails")
+    @Test
+    public void givenAddedEmails_whenMightContain_thenReturnTrue(){
+
+        // given - precondition or setup
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("employee" + i + "@email.com");
+        }
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertThat(filter.mightContain("employee" + i + "@email.com")).isTrue();
+        }
+    }
+
+    // JUnit test for mightContain method with emails that were never added
+    @DisplayName("JUnit test for mightContain method with emails that were never added")
+    @Test
+    public void givenFullFilter_whenMightContainUnknownEmails_thenFalsePositiveRateIsCloseToConfiguredRate(){
+
+        // given - precondition or setup
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("employee" + i + "@email.com");
+        }
+
+        // when - action or behaviour that we are going test
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("stranger" + i + "@email.com")) {
+                falsePositives++;
+            }
+        }
+
+        // then - verify the output
+        Assertions.assertThat(falsePositives / 10_000.0).isLessThan(0.02);
+        Assertions.assertThat(filter.expectedFalsePositiveRate()).isBetween(0.001, 0.02);
+    }
+}
@@ -0,0 +1,125 @@
+package com.onurhaktan.springboot.index;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeEmailIndexTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeEmailIndex employeeEmailIndex;
+
+    @BeforeEach
+    public void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        employeeEmailIndex = new EmployeeEmailIndex(employeeRepository, transactionManager, meterRegistry, 0.01);
+    }
+
+    // JUnit test for isRegistered method before the index is built
+    @DisplayName("JUnit test for isRegistered method before the index is built")
+    @Test
+    public void givenIndexNotBuilt_whenIsRegistered_thenQueryRepository(){
+
+        // given - precondition or setup
+        given(employeeRepository.findByEmail("new@email.com")).willReturn(Optional.empty());
+
+        // when - action or behaviour that we are going test
+        boolean registered = employeeEmailIndex.isRegistered("new@email.com");
+
+        // then - verify the output
+        Assertions.assertThat(registered).isFalse();
+        verify(employeeRepository).findByEmail("new@email.com");
+    }
+
+    // JUnit test for isRegistered method with a new email
+    @DisplayName("JUnit test for isRegistered method with a new email")
+    @Test
+    public void givenBuiltIndex_whenIsRegisteredWithNewEmail_thenSkipQuery(){
+
+        // given - precondition or setup
+        given(employeeRepository.count()).willReturn(1L);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of("onur@email.com"));
+        employeeEmailIndex.rebuild();
+
+        // when - action or behaviour that we are going test
+        boolean registered = employeeEmailIndex.isRegistered("new@email.com");
+
+        // then - verify the output
+        Assertions.assertThat(registered).isFalse();
+        verify(employeeRepository, never()).findByEmail("new@email.com");
+        Assertions.assertThat(meterRegistry.get("employees.email.index.lookups").tag("result", "negative").counter().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("employees.email.index.false.positive.rate").gauge().value())
+                .isEqualTo(0);
+    }
+
+    // JUnit test for isRegistered method with a stored email
+    @DisplayName("JUnit test for isRegistered method with a stored email")
+    @Test
+    public void givenBuiltIndex_whenIsRegisteredWithStoredEmail_thenConfirmWithQuery(){
+
+        // given - precondition or setup
+        Employee employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+
+        given(employeeRepository.count()).willReturn(1L);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of(employee.getEmail()));
+        given(employeeRepository.findByEmail(employee.getEmail())).willReturn(Optional.of(employee));
+        employeeEmailIndex.rebuild();
+
+        // when - action or behaviour that we are going test
+        boolean registered = employeeEmailIndex.isRegistered(employee.getEmail());
+
+        // then - verify the output
+        Assertions.assertThat(registered).isTrue();
+        Assertions.assertThat(employeeEmailIndex.mightBeRegistered("added@email.com")).isFalse();
+        employeeEmailIndex.add("added@email.com");
+        Assertions.assertThat(employeeEmailIndex.mightBeRegistered("added@email.com")).isTrue();
+    }
+
+    // JUnit test for mightBeRegistered method with emails in another case
+    @DisplayName("JUnit test for mightBeRegistered method with emails in another case")
+    @Test
+    public void givenStoredEmailInOtherCase_whenMightBeRegistered_thenReturnTrue(){
+
+        // given - precondition or setup
+        given(employeeRepository.count()).willReturn(1L);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of("Onur@Email.com"));
+        employeeEmailIndex.rebuild();
+
+        // when - action or behaviour that we are going test
+        employeeEmailIndex.add("ADDED@email.com");
+
+        // then - verify the output
+        Assertions.assertThat(employeeEmailIndex.mightBeRegistered("onur@email.com")).isTrue();
+        Assertions.assertThat(employeeEmailIndex.mightBeRegistered("ONUR@EMAIL.COM")).isTrue();
+        Assertions.assertThat(employeeEmailIndex.mightBeRegistered("added@email.com")).isTrue();
+    }
+}
@@ -0,0 +1,130 @@
+package com.onurhaktan.springboot.index;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+// Search latency over a million employees. The index is in memory, so no database is needed, but filling it
+// takes about a minute: runs with mvn test -Pbenchmark only.
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmployeeSearchIndexBenchmarkTests {
+
+    private static final int EMPLOYEES = 1_000_000;
+
+    private static final int WARM_UP_PASSES = 5;
+
+    private static final String[] SYLLABLES = {"ak", "al", "ay", "ba", "de", "di", "er", "gö", "ha", "ka", "ko", "le",
+            "me", "mi", "na", "nu", "or", "ra", "se", "su", "ta", "tü", "ya", "yı", "ze"};
+
+    private final Random random = new Random(42);
+
+    private final String[] firstNames = new String[500];
+
+    private final String[] lastNames = new String[5000];
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @BeforeAll
+    public void setup(){
+        for (int i = 0; i < firstNames.length; i++) {
+            firstNames[i] = name(2);
+        }
+        for (int i = 0; i < lastNames.length; i++) {
+            lastNames[i] = name(3);
+        }
+        // filled by the startup rebuild, the repository hands out generated pages
+        EmployeeRepository employeeRepository = Mockito.mock(EmployeeRepository.class);
+        given(employeeRepository.findNextPage(anyLong(), any(PageRequest.class))).willAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            int size = invocation.<PageRequest>getArgument(1).getPageSize();
+            List<Employee> page = new ArrayList<>(size);
+            for (long id = lastId + 1; id <= Math.min(lastId + size, EMPLOYEES); id++) {
+                String firstName = firstNames[random.nextInt(firstNames.length)];
+                String lastName = lastNames[random.nextInt(lastNames.length)];
+                page.add(Employee.builder()
+                        .id(id)
+                        .firstName(firstName)
+                        .lastName(lastName)
+                        .email(firstName + "." + lastName + id + "@email.com")
+                        .build());
+            }
+            return page;
+        });
+        employeeSearchIndex = new EmployeeSearchIndex(employeeRepository, Duration.ofMinutes(1));
+        employeeSearchIndex.rebuild();
+    }
+
+    @AfterAll
+    public void tearDown() throws IOException {
+        employeeSearchIndex.close();
+    }
+
+    // JUnit test for search latency over a million employees
+    @DisplayName("JUnit test for search latency over a million employees")
+    @Test
+    public void givenMillionEmployees_whenSearch_thenP99Below10Millis(){
+
+        // given - precondition or setup
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String firstName = firstNames[random.nextInt(firstNames.length)];
+            String lastName = lastNames[random.nextInt(lastNames.length)];
+            // exact names, a prefix, a typo in the last name and an email
+            queries.add(switch (i % 4) {
+                case 0 -> firstName + " " + lastName;
+                case 1 -> lastName.substring(0, 3);
+                case 2 -> firstName + " " + lastName.substring(0, lastName.length() - 1) + "x";
+                default -> firstName + "." + lastName + (random.nextInt(EMPLOYEES) + 1) + "@email.com";
+            });
+        }
+        // warm-up passes, so the timed one does not include JIT compilation
+        for (int i = 0; i < WARM_UP_PASSES; i++) {
+            queries.forEach(query -> employeeSearchIndex.search(query, 20));
+        }
+
+        // when - action or behaviour that we are going test
+        long[] nanos = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            long started = System.nanoTime();
+            employeeSearchIndex.search(queries.get(i), 20);
+            nanos[i] = System.nanoTime() - started;
+        }
+
+        // then - verify the output
+        Arrays.sort(nanos);
+        double medianMillis = nanos[nanos.length / 2] / 1e6;
+        double p99Millis = nanos[nanos.length * 99 / 100] / 1e6;
+        Assertions.assertThat(employeeSearchIndex.search(queries.get(0), 20)).isNotEmpty();
+        Assertions.assertThat(p99Millis)
+                .as("p99 of %d searches over %d employees, median %.2f ms", nanos.length, EMPLOYEES, medianMillis)
+                .isLessThan(10);
+    }
+
+    private String name(int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
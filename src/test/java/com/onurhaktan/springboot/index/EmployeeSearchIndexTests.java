@@ -0,0 +1,196 @@
+package com.onurhaktan.springboot.index;
+
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeSearchIndexTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @BeforeEach
+    public void setup() throws InterruptedException {
+        employeeSearchIndex = new EmployeeSearchIndex(employeeRepository, Duration.ofMinutes(1));
+        employeeSearchIndex.indexAll(List.of(
+                employee(1L, "Onur", "Haktan", "onur@email.com"),
+                employee(2L, "Göksu", "Haktan", "goksu@email.com"),
+                employee(3L, "Ali", "Hakan", "ali@email.com"),
+                employee(4L, "Ayşe", "Yılmaz", "ayse@email.com")));
+        employeeSearchIndex.awaitRefresh();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        employeeSearchIndex.close();
+    }
+
+    // JUnit test for search method with a misspelled name
+    @DisplayName("JUnit test for search method with a misspelled name")
+    @Test
+    public void givenTypo_whenSearch_thenReturnRankedMatches(){
+
+        // when - action or behaviour that we are going test
+        List<EmployeeSearchHit> hits = employeeSearchIndex.search("onur hakton", 10);
+
+        // then - verify the output
+        Assertions.assertThat(hits).extracting(hit -> hit.employee().getId()).containsExactly(1L);
+        Assertions.assertThat(hits.get(0).employee().getEmail()).isEqualTo("onur@email.com");
+    }
+
+    // JUnit test for search method ranking exact matches first
+    @DisplayName("JUnit test for search method ranking exact matches first")
+    @Test
+    public void givenExactAndFuzzyMatches_whenSearch_thenExactMatchesRankFirst(){
+
+        // when - action or behaviour that we are going test
+        List<EmployeeSearchHit> hits = employeeSearchIndex.search("Hakan", 10);
+
+        // then - verify the output
+        Assertions.assertThat(hits).extracting(hit -> hit.employee().getId()).hasSize(3).startsWith(3L);
+        Assertions.assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    // JUnit test for search method with an email
+    @DisplayName("JUnit test for search method with an email")
+    @Test
+    public void givenEmail_whenSearch_thenOnlyExactEmailMatches(){
+
+        // when - action or behaviour that we are going test
+        List<EmployeeSearchHit> hits = employeeSearchIndex.search("ONUR@email.com", 10);
+
+        // then - verify the output
+        Assertions.assertThat(hits).extracting(hit -> hit.employee().getId()).containsExactly(1L);
+        Assertions.assertThat(employeeSearchIndex.search("onur@email.co", 10)).isEmpty();
+    }
+
+    // JUnit test for remove and removeByLastName methods
+    @DisplayName("JUnit test for remove and removeByLastName methods")
+    @Test
+    public void givenRemovedEmployees_whenSearch_thenNotFound() throws InterruptedException {
+
+        // when - action or behaviour that we are going test
+        employeeSearchIndex.remove(List.of(3L));
+        employeeSearchIndex.removeByLastName("HAKTAN");
+        employeeSearchIndex.awaitRefresh();
+
+        // then - verify the output
+        Assertions.assertThat(employeeSearchIndex.search("hak", 10)).isEmpty();
+        Assertions.assertThat(employeeSearchIndex.search("ayşe", 10)).hasSize(1);
+    }
+
+    // JUnit test for rebuild method
+    @DisplayName("JUnit test for rebuild method")
+    @Test
+    public void givenStoredEmployees_whenRebuild_thenIndexMatchesTable(){
+
+        // given - precondition or setup
+        given(employeeRepository.findNextPage(anyLong(), any(PageRequest.class))).willReturn(List.of());
+        given(employeeRepository.findNextPage(0L, PageRequest.of(0, 1000)))
+                .willReturn(List.of(employee(5L, "Mehmet", "Demir", "mehmet@email.com")));
+
+        // when - action or behaviour that we are going test
+        employeeSearchIndex.rebuild();
+
+        // then - verify the output
+        Assertions.assertThat(employeeSearchIndex.search("haktan", 10)).isEmpty();
+        Assertions.assertThat(employeeSearchIndex.search("demri", 10))
+                .extracting(hit -> hit.employee().getId()).containsExactly(5L);
+    }
+
+    // JUnit test for patch method
+    @DisplayName("JUnit test for patch method")
+    @Test
+    public void givenPatchedLastName_whenSearch_thenFindByNewName() throws InterruptedException {
+
+        // when - action or behaviour that we are going test
+        employeeSearchIndex.patch(1L, Employee.builder().lastName("Akın").build());
+        employeeSearchIndex.awaitRefresh();
+
+        // then - verify the output
+        List<EmployeeSearchHit> hits = employeeSearchIndex.search("akın", 10);
+        Assertions.assertThat(hits).extracting(hit -> hit.employee().getId()).containsExactly(1L);
+        Assertions.assertThat(hits.get(0).employee().getFirstName()).isEqualTo("Onur");
+        Assertions.assertThat(hits.get(0).employee().getEmail()).isEqualTo("onur@email.com");
+    }
+
+    // JUnit test for rebuild method while the index takes writes
+    @DisplayName("JUnit test for rebuild method while the index takes writes")
+    @Test
+    public void givenWritesDuringRebuild_whenRebuild_thenKeepWrittenRowsAndServeSearches(){
+
+        // given - precondition or setup
+        given(employeeRepository.findNextPage(anyLong(), any(PageRequest.class))).willReturn(List.of());
+        given(employeeRepository.findNextPage(0L, PageRequest.of(0, 1000))).willAnswer(invocation -> {
+            // committed after the page was read, so the page still has the old last name
+            employeeSearchIndex.index(employee(1L, "Onur", "Akın", "onur@email.com"));
+            // the documents of the previous build are still searchable
+            Assertions.assertThat(employeeSearchIndex.search("ayşe", 10)).hasSize(1);
+            return List.of(employee(1L, "Onur", "Haktan", "onur@email.com"),
+                    employee(2L, "Göksu", "Haktan", "goksu@email.com"));
+        });
+
+        // when - action or behaviour that we are going test
+        employeeSearchIndex.rebuild();
+
+        // then - verify the output
+        Assertions.assertThat(employeeSearchIndex.search("akın", 10))
+                .extracting(hit -> hit.employee().getId()).containsExactly(1L);
+        Assertions.assertThat(employeeSearchIndex.search("haktan", 10))
+                .extracting(hit -> hit.employee().getId()).containsExactly(2L);
+        Assertions.assertThat(employeeSearchIndex.search("ayşe", 10)).isEmpty();
+    }
+
+    // JUnit test for the periodic refresh
+    @DisplayName("JUnit test for the periodic refresh")
+    @Test
+    public void givenShortRefreshInterval_whenIndex_thenSearchableWithoutAwaitRefresh() throws IOException, InterruptedException {
+
+        // given - precondition or setup
+        EmployeeSearchIndex refreshing = new EmployeeSearchIndex(employeeRepository, Duration.ofMillis(50));
+        try {
+
+            // when - action or behaviour that we are going test
+            refreshing.index(employee(5L, "Mehmet", "Demir", "mehmet@email.com"));
+
+            // then - verify the output
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (refreshing.search("demir", 10).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            Assertions.assertThat(refreshing.search("demir", 10))
+                    .extracting(hit -> hit.employee().getId()).containsExactly(5L);
+        } finally {
+            refreshing.close();
+        }
+    }
+
+    private static Employee employee(long id, String firstName, String lastName, String email) {
+        return Employee.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build();
+    }
+}
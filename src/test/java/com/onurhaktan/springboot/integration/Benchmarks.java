@@ -0,0 +1,59 @@
+package com.onurhaktan.springboot.integration;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+// Shared by the *BenchmarkITests, which are tagged "benchmark" and run with mvn test -Pbenchmark
+final class Benchmarks {
+
+    static final int WARM_UP_RUNS = 3;
+
+    static final int RUNS = 11;
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private Benchmarks() {
+    }
+
+    // fills the table through the JDBC batch insert, one transaction per INSERT_BATCH_SIZE rows
+    static void insertEmployees(EmployeeRepository employeeRepository, PlatformTransactionManager transactionManager,
+                                int count, IntFunction<Employee> employee) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<Employee> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(employee.apply(i));
+            if (batch.size() == INSERT_BATCH_SIZE || i == count - 1) {
+                List<Employee> employees = batch;
+                transaction.executeWithoutResult(status -> employeeRepository.insertAll(employees));
+                batch = new ArrayList<>(INSERT_BATCH_SIZE);
+            }
+        }
+    }
+
+    // the median of RUNS runs after WARM_UP_RUNS runs that are not counted
+    static long medianNanos(Supplier<?> query) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            query.get();
+        }
+        long[] nanos = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long started = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[RUNS / 2];
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -1,6 +1,8 @@
 package com.onurhaktan.springboot.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
 import com.onurhaktan.springboot.model.Employee;
 import com.onurhaktan.springboot.repository.EmployeeRepository;
 import org.hamcrest.CoreMatchers;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -39,9 +42,22 @@ public class EmployeeControllerITests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EmployeeListCache employeeListCache;
+
+    @Autowired
+    private EmployeeJsonCache employeeJsonCache;
+
     @BeforeEach
     void setup(){
         employeeRepository.deleteAll();
+        // deleteAll goes around the service, so cached employees have to be dropped as well
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        employeeListCache.invalidate();
+        employeeJsonCache.evictAll();
     }
 
     // Integration test for createEmployee controller
@@ -0,0 +1,95 @@
+package com.onurhaktan.springboot.integration;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// The last name prefix search on the normalized name index against lower(last_name) like, on MySQL with a million
+// employees. Each side runs a few times after a warm-up and the medians are compared. The table is filled once for
+// the class and emptied at the end, so the test runs outside of a test transaction.
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmployeeNameSearchBenchmarkITests extends AbstractionBaseTest {
+
+    private static final int EMPLOYEES = 1_000_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void setup(){
+        Benchmarks.insertEmployees(employeeRepository, transactionManager, EMPLOYEES, i -> Employee.builder()
+                .firstName("First" + (i % 1000))
+                .lastName("Last" + i)
+                .email("employee" + i + "@email.com")
+                .build());
+    }
+
+    @AfterAll
+    public void tearDown(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    // Integration test comparing the prefix search with a search on lower(last_name)
+    @DisplayName("Integration test comparing the prefix search with a search on lower(last_name)")
+    @Test
+    public void givenLastNamePrefix_whenSearch_thenNormalizedIndexIsFaster(){
+
+        // given - precondition or setup
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        // when - action or behaviour that we are going test
+        long lowerNanos = Benchmarks.medianNanos(() -> transaction.execute(status -> lowerLastNamePage("last9999%")));
+        long prefixNanos = Benchmarks.medianNanos(() -> transaction.execute(status -> employeeRepository
+                .searchByNamePrefix("last9999%", "%", "", "", 0L, PageRequest.ofSize(PAGE_SIZE))));
+
+        // then - verify the output
+        List<Employee> prefixPage = transaction.execute(status -> employeeRepository
+                .searchByNamePrefix("last9999%", "%", "", "", 0L, PageRequest.ofSize(PAGE_SIZE)));
+        List<Employee> lowerPage = transaction.execute(status -> lowerLastNamePage("last9999%"));
+        Assertions.assertThat(prefixPage)
+                .extracting(Employee::getId)
+                .containsExactlyElementsOf(lowerPage.stream().map(Employee::getId).toList());
+        Assertions.assertThat(prefixNanos)
+                .as("last name prefix over %d employees: lower(last_name) like %.2f ms, normalized prefix %.2f ms",
+                        EMPLOYEES, Benchmarks.millis(lowerNanos), Benchmarks.millis(prefixNanos))
+                .isLessThan(lowerNanos);
+    }
+
+    private List<Employee> lowerLastNamePage(String lastNamePattern) {
+        return entityManager.createQuery("select e from Employee e where lower(e.lastName) like :lastName " +
+                        "order by lower(e.lastName), lower(e.firstName), e.id", Employee.class)
+                .setParameter("lastName", lastNamePattern)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+}
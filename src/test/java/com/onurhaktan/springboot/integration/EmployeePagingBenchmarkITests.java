@@ -0,0 +1,98 @@
+package com.onurhaktan.springboot.integration;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Keyset against offset paging on MySQL at the end of the table. Each side runs a few times after a warm-up and
+// the medians are compared. The table is filled once for the class and emptied at the end, so the test runs
+// outside of a test transaction.
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmployeePagingBenchmarkITests extends AbstractionBaseTest {
+
+    private static final int EMPLOYEES = 100_000;
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void setup(){
+        Benchmarks.insertEmployees(employeeRepository, transactionManager, EMPLOYEES, i -> Employee.builder()
+                .firstName("First" + (i % 1000))
+                .lastName("Last" + i)
+                .email("employee" + i + "@email.com")
+                .build());
+    }
+
+    @AfterAll
+    public void tearDown(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    // Integration test comparing keyset and offset paging at the end of the table
+    @DisplayName("Integration test comparing keyset and offset paging at the end of the table")
+    @Test
+    public void givenDeepPage_whenKeysetAndOffsetPaging_thenKeysetIsFaster(){
+
+        // given - precondition or setup
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        int offset = EMPLOYEES - 2 * PAGE_SIZE;
+        long lastId = transaction.execute(status -> offsetPage(offset - 1, 1)).get(0).getId();
+
+        // when - action or behaviour that we are going test
+        long offsetNanos = Benchmarks.medianNanos(() -> transaction.execute(status -> offsetPage(offset, PAGE_SIZE)));
+        long keysetNanos = Benchmarks.medianNanos(() -> transaction.execute(
+                status -> employeeRepository.findNextPage(lastId, PageRequest.ofSize(PAGE_SIZE))));
+
+        // then - verify the output
+        List<Long> offsetIds = transaction.execute(status -> offsetPage(offset, PAGE_SIZE)).stream()
+                .map(Employee::getId)
+                .toList();
+        List<Employee> keysetPage = transaction.execute(
+                status -> employeeRepository.findNextPage(lastId, PageRequest.ofSize(PAGE_SIZE)));
+        Assertions.assertThat(keysetPage)
+                .extracting(Employee::getId)
+                .containsExactlyElementsOf(offsetIds);
+        Assertions.assertThat(keysetNanos)
+                .as("page at offset %d of %d employees: offset %.2f ms, keyset %.2f ms", offset, EMPLOYEES,
+                        Benchmarks.millis(offsetNanos), Benchmarks.millis(keysetNanos))
+                .isLessThan(offsetNanos);
+    }
+
+    private List<Employee> offsetPage(int offset, int size) {
+        return entityManager.createQuery("select e from Employee e order by e.id", Employee.class)
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.onurhaktan.springboot.integration;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Read-only against read-write transactions on MySQL loading many entities. Both run the same query, so the
+// difference is what Hibernate does per entity: a read-only session keeps no snapshot for the dirty check and
+// does not flush at commit. The table is filled once for the class and emptied at the end.
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EmployeeReadOnlyTransactionBenchmarkITests extends AbstractionBaseTest {
+
+    private static final int EMPLOYEES = 100_000;
+
+    private static final int LOADED_EMPLOYEES = 10_000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    public void setup(){
+        Benchmarks.insertEmployees(employeeRepository, transactionManager, EMPLOYEES, i -> Employee.builder()
+                .firstName("First" + (i % 1000))
+                .lastName("Last" + i)
+                .email("employee" + i + "@email.com")
+                .build());
+    }
+
+    @AfterAll
+    public void tearDown(){
+        employeeRepository.deleteAllInBatch();
+    }
+
+    // Integration test comparing read-only and read-write transactions loading many entities
+    @DisplayName("Integration test comparing read-only and read-write transactions loading many entities")
+    @Test
+    public void givenManyEntities_whenLoadInReadOnlyAndReadWriteTransaction_thenReadOnlyIsFaster(){
+
+        // given - precondition or setup
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // when - action or behaviour that we are going test
+        long readWriteNanos = Benchmarks.medianNanos(() -> readWrite.execute(
+                status -> employeeRepository.findNextPage(0L, PageRequest.ofSize(LOADED_EMPLOYEES))));
+        long readOnlyNanos = Benchmarks.medianNanos(() -> readOnly.execute(
+                status -> employeeRepository.findNextPage(0L, PageRequest.ofSize(LOADED_EMPLOYEES))));
+
+        // then - verify the output
+        List<Employee> employees = readOnly.execute(
+                status -> employeeRepository.findNextPage(0L, PageRequest.ofSize(LOADED_EMPLOYEES)));
+        Assertions.assertThat(employees).hasSize(LOADED_EMPLOYEES);
+        Assertions.assertThat(readOnlyNanos)
+                .as("%d entities: read-write %.2f ms, read-only %.2f ms", LOADED_EMPLOYEES,
+                        Benchmarks.millis(readWriteNanos), Benchmarks.millis(readOnlyNanos))
+                .isLessThan(readWriteNanos);
+    }
+}
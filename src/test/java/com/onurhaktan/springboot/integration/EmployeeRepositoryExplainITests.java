@@ -0,0 +1,145 @@
+package com.onurhaktan.springboot.integration;
+
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import org.assertj.core.api.Assertions;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Runs every filtering repository query, captures the SQL Hibernate sends for it and fails when EXPLAIN on MySQL
+// shows a full table scan (access type ALL) or a full index scan (access type index). Since the SQL is the
+// generated one, a changed query in EmployeeRepository is checked as it is; only the bind values are listed here,
+// in the order their parameters appear in the query. Paged queries end with the offset and the page size.
+// streamAll, streamAllEmails, findAll and findListVersion (an aggregate over every row) read the whole table on
+// purpose and are not listed.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.onurhaktan.springboot.integration.EmployeeRepositoryExplainITests$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EmployeeRepositoryExplainITests extends AbstractionBaseTest {
+
+    private static final int EMPLOYEES = 1000;
+
+    // Hibernate creates the inspector itself, so the statements are kept in a static list
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(
+                query("findByEmail", repository -> repository.findByEmail("employee1@email.com"),
+                        "employee1@email.com"),
+                query("findExistingEmails",
+                        repository -> repository.findExistingEmails(List.of("employee1@email.com", "employee2@email.com")),
+                        "employee1@email.com", "employee2@email.com"),
+                query("findByJPQL", repository -> repository.findByJPQL("First1", "Last1"),
+                        "First1", "Last1"),
+                query("findByJPQLNamedParams", repository -> repository.findByJPQLNamedParams("First1", "Last1"),
+                        "First1", "Last1"),
+                query("findByNativeSQL", repository -> repository.findByNativeSQL("First1", "Last1"),
+                        "First1", "Last1"),
+                query("findByNativeSQLNamedParams", repository -> repository.findByNativeSQLNamedParams("First1", "Last1"),
+                        "First1", "Last1"),
+                query("findVersionById", repository -> repository.findVersionById(1L),
+                        1L),
+                query("searchByNamePrefix",
+                        repository -> repository.searchByNamePrefix("last1%", "%", "", "", 0L, PageRequest.ofSize(21)),
+                        "last1%", "%", "", "", 0L, 0, 21),
+                query("searchByFirstNamePrefix",
+                        repository -> repository.searchByFirstNamePrefix("first1%", "", 0L, PageRequest.ofSize(21)),
+                        "first1%", "", 0L, 0, 21),
+                query("findNextPage", repository -> repository.findNextPage(500L, PageRequest.ofSize(20)),
+                        500L, 0, 20),
+                query("findNextWithoutNormalizedNames",
+                        repository -> repository.findNextWithoutNormalizedNames(500L, PageRequest.ofSize(20)),
+                        500L, 0, 20),
+                query("findAllById", repository -> repository.findAllById(List.of(1L, 2L)),
+                        1L, 2L),
+                query("patchById", repository -> repository.patchById(1L, "First", "Last", "first@email.com"),
+                        "First", "first", "Last", "last", "first@email.com", 1L),
+                query("updateByIdAndVersion",
+                        repository -> repository.updateByIdAndVersion(1L, 0L, "First", "Last", "first@email.com",
+                                "first", "last"),
+                        "First", "Last", "first@email.com", "first", "last", 1L, 0L),
+                query("deleteEmployeeById", repository -> repository.deleteEmployeeById(1L),
+                        1L),
+                query("deleteEmployeesByIds", repository -> repository.deleteEmployeesByIds(Set.of(1L, 2L)),
+                        1L, 2L),
+                query("deleteEmployeesByLastName", repository -> repository.deleteEmployeesByLastName("Last1"),
+                        "Last1")
+        );
+    }
+
+    private static Arguments query(String name, Consumer<EmployeeRepository> call, Object... parameters) {
+        return Arguments.of(name, call, parameters);
+    }
+
+    @BeforeEach
+    public void setup(){
+        List<Employee> employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@email.com")
+                    .build());
+        }
+        employeeRepository.insertAll(employees);
+    }
+
+    // Integration test that every repository query is served by an index
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    public void givenRepositoryQuery_whenExplain_thenNoFullTableScan(String query, Consumer<EmployeeRepository> call,
+                                                                      Object[] parameters){
+
+        // given - precondition or setup
+        SqlCapture.STATEMENTS.clear();
+        call.accept(employeeRepository);
+        Assertions.assertThat(SqlCapture.STATEMENTS).as("%s statements", query).isNotEmpty();
+        // a modifying query may flush pending changes first, the query itself is sent last
+        String sql = SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1);
+        Assertions.assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("%s bind values for %s", query, sql)
+                .isEqualTo(parameters.length);
+
+        // when - action or behaviour that we are going test
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + sql, parameters);
+
+        // then - verify the output
+        Assertions.assertThat(plan).isNotEmpty();
+        for (Map<String, Object> step : plan) {
+            Assertions.assertThat(step.get("type"))
+                    .as("%s access type for %s, plan: %s", query, sql, plan)
+                    .isNotIn("ALL", "index");
+        }
+    }
+}
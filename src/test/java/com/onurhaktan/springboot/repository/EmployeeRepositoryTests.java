@@ -1,16 +1,25 @@
 package com.onurhaktan.springboot.repository;
 
+import com.onurhaktan.springboot.dto.EmployeeListVersion;
 import com.onurhaktan.springboot.model.Employee;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 // It is used to test JPA-based database operations.
 // This annotation enables tests to run quickly and in isolation, and it can use in-memory databases to simulate database operations.
@@ -20,6 +29,12 @@ public class EmployeeRepositoryTests {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private Employee employee;
 
     // It is used to define the preparatory operations that need to be done before a specific test method is executed in JUnit tests.
@@ -256,4 +271,310 @@ public class EmployeeRepositoryTests {
         // then - verify the output
         assertThat(savedEmployee).isNotNull();
     }
+
+    // JUnit test for keyset pagination query
+    @DisplayName("JUnit test for keyset pagination query")
+    @Test
+    public void givenEmployeesList_whenFindNextPage_thenReturnEmployeesAfterLastId(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+
+        // when - action or behaviour that we are going to test
+        List<Employee> firstPage = employeeRepository.findNextPage(0L, PageRequest.of(0, 1));
+        List<Employee> secondPage = employeeRepository.findNextPage(firstPage.get(0).getId(), PageRequest.of(0, 1));
+
+        // then - verify the output
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0).getEmail()).isEqualTo(employee.getEmail());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getEmail()).isEqualTo(employee1.getEmail());
+    }
+
+    // JUnit test for JDBC batch insert operation
+    @DisplayName("JUnit test for JDBC batch insert operation")
+    @Test
+    public void givenEmployeesList_whenInsertAll_thenEmployeesHaveGeneratedIds(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going to test
+        List<Employee> insertedEmployees = employeeRepository.insertAll(List.of(employee, employee1));
+
+        // then - verify the output
+        assertThat(insertedEmployees).allSatisfy(inserted -> assertThat(inserted.getId()).isGreaterThan(0));
+        assertThat(employeeRepository.findExistingEmails(Set.of("onur@email.com", "goksu@email.com", "other@email.com")))
+                .containsExactlyInAnyOrder("onur@email.com", "goksu@email.com");
+    }
+
+    // JUnit test for JDBC batch insert operation with an email that is already stored
+    @DisplayName("JUnit test for JDBC batch insert operation with an email that is already stored")
+    @Test
+    public void givenStoredEmailInBatch_whenInsertAll_thenOnlyThatRowIsSkipped(){
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        Employee duplicate = Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email(employee.getEmail())
+                .build();
+        Employee employee1 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going to test
+        employeeRepository.insertAll(List.of(employee1, duplicate));
+
+        // then - verify the output
+        assertThat(employee1.getId()).isGreaterThan(0);
+        assertThat(duplicate.getId()).isZero();
+        assertThat(employeeRepository.count()).isEqualTo(2);
+    }
+
+    // JUnit test for the unique email constraint
+    @DisplayName("JUnit test for the unique email constraint")
+    @Test
+    public void givenExistingEmail_whenSaveAndFlush_thenThrowsDataIntegrityViolation(){
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+
+        Employee employee1 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email(employee.getEmail())
+                .build();
+
+        // when - action or behaviour that we are going to test
+        // then - verify the output
+        assertThatThrownBy(() -> employeeRepository.saveAndFlush(employee1))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining(Employee.EMAIL_UNIQUE_CONSTRAINT.toUpperCase());
+    }
+
+    // JUnit test for streaming all emails
+    @DisplayName("JUnit test for streaming all emails")
+    @Test
+    public void givenEmployeesList_whenStreamAllEmails_thenReturnEveryEmail(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+
+        // when - action or behaviour that we are going to test
+        List<String> emails;
+        try (Stream<String> emailStream = employeeRepository.streamAllEmails()) {
+            emails = emailStream.toList();
+        }
+
+        // then - verify the output
+        assertThat(emails).containsExactlyInAnyOrder("onur@email.com", "goksu@email.com");
+    }
+
+    // JUnit test for single statement partial update operation
+    @DisplayName("JUnit test for single statement partial update operation")
+    @Test
+    public void givenEmployeeObject_whenPatchById_thenUpdateOnlyGivenFields(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or behaviour that we are going to test
+        int updatedRows = employeeRepository.patchById(employee.getId(), null, null, "akın@email.com");
+        int missingRows = employeeRepository.patchById(employee.getId() + 1, "Akın", null, null);
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).get();
+
+        // then - verify the output
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(missingRows).isEqualTo(0);
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Onur");
+        assertThat(updatedEmployee.getEmail()).isEqualTo("akın@email.com");
+    }
+
+    // JUnit test for single statement delete operations
+    @DisplayName("JUnit test for single statement delete operations")
+    @Test
+    public void givenEmployeesList_whenDeleteWithSingleStatement_thenReturnDeletedCount(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        employeeRepository.save(employee);
+        employeeRepository.save(employee1);
+        employeeRepository.save(employee2);
+
+        // when - action or behaviour that we are going to test
+        int deletedById = employeeRepository.deleteEmployeeById(employee2.getId());
+        int deletedMissing = employeeRepository.deleteEmployeeById(employee2.getId());
+        int deletedByLastName = employeeRepository.deleteEmployeesByLastName("Haktan");
+
+        // then - verify the output
+        assertThat(deletedById).isEqualTo(1);
+        assertThat(deletedMissing).isEqualTo(0);
+        assertThat(deletedByLastName).isEqualTo(2);
+        assertThat(employeeRepository.count()).isEqualTo(0);
+    }
+
+    // JUnit test for sparse fieldset queries
+    @DisplayName("JUnit test for sparse fieldset queries")
+    @Test
+    public void givenFields_whenFindFields_thenReturnOnlyThoseFields(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        Employee employee1 = employeeRepository.save(
+                Employee.builder().firstName("Göksu").lastName("Turaç").email("goksu@email.com").build());
+
+        // when - action or behaviour that we are going to test
+        List<Map<String, Object>> firstPage = employeeRepository.findFields(List.of("email", "id"), 0L, 1);
+        List<Map<String, Object>> secondPage = employeeRepository.findFields(List.of("lastName"), employee.getId(), 10);
+        Optional<Map<String, Object>> oneEmployee = employeeRepository.findFieldsById(employee.getId(), List.of("lastName"));
+
+        // then - verify the output
+        assertThat(firstPage).hasSize(1);
+        assertThat(firstPage.get(0)).containsExactly(
+                Map.entry("email", "onur@email.com"), Map.entry("id", employee.getId()));
+        // the id is the cursor of the next page, so it is always selected
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0)).containsExactly(
+                Map.entry("id", employee1.getId()), Map.entry("lastName", "Turaç"));
+        assertThat(oneEmployee).contains(Map.of("lastName", "Haktan"));
+    }
+
+    // JUnit test for case-insensitive prefix search
+    @DisplayName("JUnit test for case-insensitive prefix search")
+    @Test
+    public void givenEmployees_whenSearchByNamePrefix_thenReturnMatchesInNameOrder(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("Ali").lastName("HAKAN").email("ali@email.com").build());
+        employeeRepository.save(Employee.builder().firstName("Ayşe").lastName("Ha_ktan").email("ayse@email.com").build());
+        employeeRepository.insertAll(List.of(Employee.builder().firstName("Ozan").lastName("hakyemez").email("ozan@email.com").build()));
+
+        // when - action or behaviour that we are going to test
+        List<Employee> firstPage = employeeRepository.searchByNamePrefix("hak%", "%", "", "", 0L, PageRequest.of(0, 2));
+        Employee last = firstPage.get(1);
+        List<Employee> secondPage = employeeRepository.searchByNamePrefix("hak%", "%",
+                last.getLastNameNormalized(), last.getFirstNameNormalized(), last.getId(), PageRequest.of(0, 2));
+        List<Employee> escaped = employeeRepository.searchByNamePrefix("ha!_%", "%", "", "", 0L, PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(firstPage).extracting(Employee::getFirstName).containsExactly("Ali", "Onur");
+        assertThat(secondPage).extracting(Employee::getFirstName).containsExactly("Ozan");
+        assertThat(escaped).extracting(Employee::getFirstName).containsExactly("Ayşe");
+    }
+
+    // JUnit test for case-insensitive first name prefix search with keyset pagination
+    @DisplayName("JUnit test for case-insensitive first name prefix search with keyset pagination")
+    @Test
+    public void givenEmployees_whenSearchByFirstNamePrefix_thenReturnMatchesInFirstNameOrder(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+        employeeRepository.save(Employee.builder().firstName("ONUR").lastName("Akın").email("onur.akin@email.com").build());
+        employeeRepository.save(Employee.builder().firstName("Onurcan").lastName("Berk").email("onurcan@email.com").build());
+        employeeRepository.save(Employee.builder().firstName("Ozan").lastName("Haktan").email("ozan@email.com").build());
+
+        // when - action or behaviour that we are going to test
+        List<Employee> firstPage = employeeRepository.searchByFirstNamePrefix("onu%", "", 0L, PageRequest.of(0, 2));
+        Employee last = firstPage.get(1);
+        List<Employee> secondPage = employeeRepository.searchByFirstNamePrefix("onu%",
+                last.getFirstNameNormalized(), last.getId(), PageRequest.of(0, 2));
+
+        // then - verify the output
+        assertThat(firstPage).extracting(Employee::getEmail).containsExactly("onur@email.com", "onur.akin@email.com");
+        assertThat(secondPage).extracting(Employee::getFirstName).containsExactly("Onurcan");
+    }
+
+    // JUnit test for patchById keeping the normalized names in sync
+    @DisplayName("JUnit test for patchById keeping the normalized names in sync")
+    @Test
+    public void givenPatchedLastName_whenSearchByNamePrefix_thenFindByNewName(){
+
+        // given - precondition or setup
+        employeeRepository.save(employee);
+
+        // when - action or behaviour that we are going to test
+        employeeRepository.patchById(employee.getId(), null, "Akın", null);
+        List<Employee> employees = employeeRepository.searchByNamePrefix("akı%", "onu%", "", "", 0L, PageRequest.of(0, 10));
+
+        // then - verify the output
+        assertThat(employees).extracting(Employee::getId).containsExactly(employee.getId());
+    }
+
+    // JUnit test for filling the normalized names of old rows
+    @DisplayName("JUnit test for filling the normalized names of old rows")
+    @Test
+    public void givenRowsWithoutNormalizedNames_whenBackfill_thenSearchFindsThem(){
+
+        // given - precondition or setup
+        jdbcTemplate.update("insert into employees (first_name, last_name, email, version) values (?, ?, ?, 0)",
+                "Onur", "Haktan", "onur@email.com");
+
+        // when - action or behaviour that we are going to test
+        new EmployeeNameBackfill(employeeRepository, transactionManager).backfill();
+
+        // then - verify the output
+        List<Employee> employees = employeeRepository.searchByNamePrefix("hakt%", "%", "", "", 0L, PageRequest.of(0, 10));
+        assertThat(employees).extracting(Employee::getEmail).containsExactly("onur@email.com");
+        assertThat(employeeRepository.findNextWithoutNormalizedNames(0L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    // JUnit test for the version column behind the ETags
+    @DisplayName("JUnit test for the version column behind the ETags")
+    @Test
+    public void givenSavedEmployee_whenUpdateByIdAndVersion_thenOnlyTheExpectedVersionIsUpdated(){
+
+        // given - precondition or setup
+        employeeRepository.saveAndFlush(employee);
+        EmployeeListVersion listVersionBefore = employeeRepository.findListVersion();
+
+        // when - action or behaviour that we are going to test
+        int staleRows = employeeRepository.updateByIdAndVersion(employee.getId(), 5L,
+                "Göksu", "Haktan", "goksu@email.com", "göksu", "haktan");
+        int updatedRows = employeeRepository.updateByIdAndVersion(employee.getId(), 0L,
+                "Göksu", "Haktan", "goksu@email.com", "göksu", "haktan");
+        employeeRepository.patchById(employee.getId(), null, "Turaç", null);
+
+        // then - verify the output
+        assertThat(staleRows).isZero();
+        assertThat(updatedRows).isEqualTo(1);
+        assertThat(employeeRepository.findVersionById(employee.getId())).contains(2L);
+        assertThat(employeeRepository.findVersionById(employee.getId() + 1)).isEmpty();
+        assertThat(listVersionBefore).isEqualTo(new EmployeeListVersion(1, employee.getId(), 0));
+        assertThat(employeeRepository.findListVersion())
+                .isEqualTo(EmployeeListVersion.of(employeeRepository.findAll()))
+                .isEqualTo(new EmployeeListVersion(1, employee.getId(), 2));
+    }
 }
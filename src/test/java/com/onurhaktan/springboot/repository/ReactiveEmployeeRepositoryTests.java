@@ -0,0 +1,161 @@
+package com.onurhaktan.springboot.repository;
+
+import com.onurhaktan.springboot.model.Employee;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs against an in-memory H2 database through r2dbc-h2, the table mirrors the one Hibernate creates
+public class ReactiveEmployeeRepositoryTests {
+
+    private DatabaseClient databaseClient;
+
+    private ReactiveEmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup(){
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///reactive-employees;DB_CLOSE_DELAY=-1");
+        databaseClient = DatabaseClient.create(connectionFactory);
+        databaseClient.sql("drop table if exists employees").then()
+                .then(databaseClient.sql("create table employees (id bigint auto_increment primary key, " +
+                        "first_name varchar(255) not null, last_name varchar(255) not null, email varchar(255) not null, " +
+                        "first_name_normalized varchar(255), last_name_normalized varchar(255), version bigint not null, " +
+                        "constraint uk_employees_email unique (email))").then())
+                .block();
+        employeeRepository = new ReactiveEmployeeRepository(databaseClient);
+    }
+
+    // JUnit test for insert and findById operations
+    @DisplayName("JUnit test for insert and findById operations")
+    @Test
+    public void givenEmployeeObject_whenInsert_thenFindByGeneratedId(){
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build();
+
+        // when - action or behaviour that we are going to test
+        Employee savedEmployee = employeeRepository.insert(employee).block();
+
+        // then - verify the output
+        assertThat(savedEmployee.getId()).isPositive();
+        StepVerifier.create(employeeRepository.findById(savedEmployee.getId()))
+                .assertNext(found -> assertThat(found.getEmail()).isEqualTo("onur@email.com"))
+                .verifyComplete();
+        assertThat(databaseClient.sql("select last_name_normalized from employees")
+                .map(row -> row.get(0, String.class)).one().block()).isEqualTo("haktan");
+    }
+
+    // JUnit test for insert operation with a duplicate email
+    @DisplayName("JUnit test for insert operation with a duplicate email")
+    @Test
+    public void givenDuplicateEmail_whenInsert_thenSignalDataIntegrityViolation(){
+
+        // given - precondition or setup
+        employeeRepository.insert(Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build()).block();
+
+        // when - action or behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.insert(
+                        Employee.builder().firstName("Göksu").lastName("Haktan").email("onur@email.com").build()))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    // JUnit test for streaming all employees with limited demand
+    @DisplayName("JUnit test for streaming all employees with limited demand")
+    @Test
+    public void givenEmployees_whenFindAllWithLimitedDemand_thenEmitOnlyRequestedRows(){
+
+        // given - precondition or setup
+        for (int i = 0; i < 10; i++) {
+            employeeRepository.insert(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@email.com").build()).block();
+        }
+
+        // when - action or behaviour that we are going to test
+        // then - verify the output
+        StepVerifier.create(employeeRepository.findAll(), 2)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+        StepVerifier.create(employeeRepository.findAll())
+                .expectNextCount(10)
+                .verifyComplete();
+    }
+
+    // JUnit test for findNextPage operation
+    @DisplayName("JUnit test for findNextPage operation")
+    @Test
+    public void givenEmployees_whenFindNextPage_thenReturnRowsAfterLastId(){
+
+        // given - precondition or setup
+        for (int i = 0; i < 5; i++) {
+            employeeRepository.insert(Employee.builder().firstName("First" + i).lastName("Last" + i)
+                    .email("employee" + i + "@email.com").build()).block();
+        }
+        List<Employee> firstPage = employeeRepository.findNextPage(0L, 2).collectList().block();
+
+        // when - action or behaviour that we are going to test
+        List<Employee> secondPage = employeeRepository.findNextPage(firstPage.get(1).getId(), 2).collectList().block();
+
+        // then - verify the output
+        assertThat(firstPage).extracting(Employee::getEmail)
+                .containsExactly("employee0@email.com", "employee1@email.com");
+        assertThat(secondPage).extracting(Employee::getEmail)
+                .containsExactly("employee2@email.com", "employee3@email.com");
+    }
+
+    // JUnit test for the compare-and-set update operation
+    @DisplayName("JUnit test for the compare-and-set update operation")
+    @Test
+    public void givenStaleVersion_whenUpdate_thenNoRowIsUpdated(){
+
+        // given - precondition or setup
+        Employee employee = employeeRepository.insert(
+                Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build()).block();
+        employee.setFirstName("Göksu");
+
+        // when - action or behaviour that we are going to test
+        Long updatedRows = employeeRepository.update(employee).block();
+        // still carries version 0, the row is at version 1 now
+        Long staleRows = employeeRepository.update(employee).block();
+
+        // then - verify the output
+        assertThat(updatedRows).isEqualTo(1L);
+        assertThat(staleRows).isZero();
+        StepVerifier.create(employeeRepository.findById(employee.getId()))
+                .assertNext(found -> assertThat(found.getVersion()).isEqualTo(1L))
+                .verifyComplete();
+    }
+
+    // JUnit test for patchById and delete operations
+    @DisplayName("JUnit test for patchById and delete operations")
+    @Test
+    public void givenEmployees_whenPatchAndDelete_thenReturnAffectedRows(){
+
+        // given - precondition or setup
+        Employee onur = employeeRepository.insert(
+                Employee.builder().firstName("Onur").lastName("Haktan").email("onur@email.com").build()).block();
+        Employee goksu = employeeRepository.insert(
+                Employee.builder().firstName("Göksu").lastName("Akın").email("goksu@email.com").build()).block();
+
+        // when - action or behaviour that we are going to test
+        Long patchedRows = employeeRepository.patchById(onur.getId(), Employee.builder().lastName("Akın").build()).block();
+        Long deletedByLastName = employeeRepository.deleteByLastName("Akın").block();
+        Long deletedByIds = employeeRepository.deleteByIds(List.of(onur.getId(), goksu.getId())).block();
+
+        // then - verify the output
+        assertThat(patchedRows).isEqualTo(1L);
+        assertThat(deletedByLastName).isEqualTo(2L);
+        assertThat(deletedByIds).isZero();
+    }
+}
@@ -0,0 +1,237 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.ImportJob;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.impl.EmployeeImportServiceImpl;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeImportServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private EmployeeImportServiceImpl employeeImportService;
+
+    private final List<Employee> savedEmployees = new ArrayList<>();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void setup(){
+        // small batch and queue sizes so the test goes through several batches and exercises the backpressure paths
+        employeeImportService = new EmployeeImportServiceImpl(employeeService, 2, 2, 2, Duration.ofMinutes(10), 10);
+
+        // lenient because the failing import never reaches the write stage
+        lenient().when(employeeService.saveEmployees(anyList())).thenAnswer((invocation) -> {
+            List<Employee> employees = invocation.getArgument(0);
+            List<BulkCreateResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                if (employee.getEmail().equals("taken@email.com")) {
+                    results.add(BulkCreateResult.rejected(i, BulkCreateResult.Status.DUPLICATE, employee, "duplicate"));
+                } else {
+                    synchronized (savedEmployees) {
+                        savedEmployees.add(employee);
+                    }
+                    results.add(BulkCreateResult.created(i, employee));
+                }
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    public void tearDown(){
+        employeeImportService.shutdown();
+    }
+
+    // JUnit test for startImport method
+    @DisplayName("JUnit test for startImport method")
+    @Test
+    public void givenCsvFile_whenStartImport_thenValidRowsAreWrittenAndInvalidRowsRejected() throws Exception {
+
+        // given - precondition or setup
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, String.join("\n",
+                "first_name,last_name,email",
+                "  Onur , Haktan ,ONUR@Email.com",
+                "\"Göksu\",\"Turaç\",goksu@email.com",
+                "Akın,Haktan,not-an-email",
+                ",Haktan,empty@email.com",
+                "Taken,Employee,taken@email.com",
+                "Ali,Veli,ali@email.com",
+                ""), StandardCharsets.UTF_8);
+
+        // when - action or behaviour that we are going test
+        ImportJob job = employeeImportService.startImport(csvFile);
+        job.getCompletion().get(10, TimeUnit.SECONDS);
+
+        // then - verify the output
+        Assertions.assertThat(job.getStatus()).isEqualTo(ImportJob.Status.COMPLETED);
+        Assertions.assertThat(job.getParsedRows()).isEqualTo(6);
+        Assertions.assertThat(job.getWrittenRows()).isEqualTo(3);
+        Assertions.assertThat(job.getRejectedRows()).isEqualTo(3);
+        Assertions.assertThat(savedEmployees)
+                .extracting(Employee::getEmail)
+                .containsExactlyInAnyOrder("onur@email.com", "goksu@email.com", "ali@email.com");
+        Assertions.assertThat(savedEmployees)
+                .filteredOn(employee -> employee.getEmail().equals("onur@email.com"))
+                .singleElement()
+                .satisfies(employee -> {
+                    Assertions.assertThat(employee.getFirstName()).isEqualTo("Onur");
+                    Assertions.assertThat(employee.getLastName()).isEqualTo("Haktan");
+                });
+        Assertions.assertThat(Files.readAllLines(job.getRejectedRowsFile()))
+                .hasSize(4)
+                .anySatisfy(line -> Assertions.assertThat(line).startsWith("4,"))
+                .anySatisfy(line -> Assertions.assertThat(line).startsWith("5,"))
+                .anySatisfy(line -> Assertions.assertThat(line).startsWith("6,"));
+        Assertions.assertThat(csvFile).doesNotExist();
+    }
+
+    // JUnit test for startImport method with a file without the required columns
+    @DisplayName("JUnit test for startImport method with a file without the required columns")
+    @Test
+    public void givenCsvFileWithoutEmailColumn_whenStartImport_thenJobFails() throws Exception {
+
+        // given - precondition or setup
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, "first_name,last_name\nOnur,Haktan\n", StandardCharsets.UTF_8);
+
+        // when - action or behaviour that we are going test
+        ImportJob job = employeeImportService.startImport(csvFile);
+        job.getCompletion().handle((result, error) -> null).get(10, TimeUnit.SECONDS);
+
+        // then - verify the output
+        Assertions.assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+        Assertions.assertThat(job.getError()).contains("email");
+        Assertions.assertThat(savedEmployees).isEmpty();
+    }
+
+    // JUnit test for startImport method when the writer dies with a full write queue
+    @DisplayName("JUnit test for startImport method when the writer dies with a full write queue")
+    @Test
+    public void givenWriterDies_whenStartImport_thenJobFailsAndExpires() throws Exception {
+
+        // given - precondition or setup
+        EmployeeImportServiceImpl expiringImportService =
+                new EmployeeImportServiceImpl(employeeService, 2, 2, 2, Duration.ZERO, 10);
+        // an Error is not a failed batch, it takes the writer down
+        given(employeeService.saveEmployees(anyList())).willThrow(new AssertionError("writer died"));
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append("Onur,Haktan,onur").append(i).append("@email.com\n");
+        }
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, csv, StandardCharsets.UTF_8);
+
+        try {
+            // when - action or behaviour that we are going test
+            ImportJob job = expiringImportService.startImport(csvFile);
+            job.getCompletion().handle((result, error) -> null).get(10, TimeUnit.SECONDS);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (expiringImportService.getImport(job.getId()).isPresent() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // then - verify the output
+            Assertions.assertThat(job.getStatus()).isEqualTo(ImportJob.Status.FAILED);
+            Assertions.assertThat(job.getError()).isEqualTo("writer died");
+            Assertions.assertThat(job.getWrittenRows()).isZero();
+            Assertions.assertThat(expiringImportService.getImport(job.getId())).isEmpty();
+        } finally {
+            expiringImportService.shutdown();
+        }
+    }
+
+    // JUnit test for getImport method after the status retention
+    @DisplayName("JUnit test for getImport method after the status retention")
+    @Test
+    public void givenFinishedJobPastRetention_whenGetImport_thenJobAndRejectedRowsFileAreGone() throws Exception {
+
+        // given - precondition or setup
+        EmployeeImportServiceImpl expiringImportService =
+                new EmployeeImportServiceImpl(employeeService, 2, 2, 2, Duration.ZERO, 10);
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.writeString(csvFile, "first_name,last_name,email\nAkın,Haktan,not-an-email\n", StandardCharsets.UTF_8);
+        ImportJob job = expiringImportService.startImport(csvFile);
+        job.getCompletion().get(10, TimeUnit.SECONDS);
+
+        try {
+            // when - action or behaviour that we are going test
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while ((expiringImportService.getImport(job.getId()).isPresent() || Files.exists(job.getRejectedRowsFile()))
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // then - verify the output
+            Assertions.assertThat(expiringImportService.getImport(job.getId())).isEmpty();
+            Assertions.assertThat(job.getRejectedRowsFile()).doesNotExist();
+        } finally {
+            expiringImportService.shutdown();
+        }
+    }
+
+    // JUnit test for getImport method with more finished jobs than tracked
+    @DisplayName("JUnit test for getImport method with more finished jobs than tracked")
+    @Test
+    public void givenMoreFinishedJobsThanTracked_whenGetImport_thenOldJobsAreDropped() throws Exception {
+
+        // given - precondition or setup
+        EmployeeImportServiceImpl boundedImportService =
+                new EmployeeImportServiceImpl(employeeService, 2, 2, 2, Duration.ofMinutes(10), 2);
+        List<ImportJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Path csvFile = tempDir.resolve("employees" + i + ".csv");
+            Files.writeString(csvFile, "first_name,last_name,email\n", StandardCharsets.UTF_8);
+            ImportJob job = boundedImportService.startImport(csvFile);
+            job.getCompletion().get(10, TimeUnit.SECONDS);
+            jobs.add(job);
+        }
+
+        try {
+            // when - action or behaviour that we are going test
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            // the files are deleted by the removal listener, shortly after the jobs are dropped
+            while ((jobs.stream().filter(job -> boundedImportService.getImport(job.getId()).isPresent()).count() > 2
+                    || jobs.stream().filter(job -> Files.exists(job.getRejectedRowsFile())).count() > 2)
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            // then - verify the output
+            Assertions.assertThat(jobs)
+                    .filteredOn(job -> boundedImportService.getImport(job.getId()).isPresent())
+                    .hasSizeLessThanOrEqualTo(2);
+            Assertions.assertThat(jobs)
+                    .filteredOn(job -> boundedImportService.getImport(job.getId()).isEmpty())
+                    .allSatisfy(job -> Assertions.assertThat(job.getRejectedRowsFile()).doesNotExist());
+        } finally {
+            boundedImportService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.onurhaktan.springboot.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.cache.EmployeeReadCoalescer;
+import com.onurhaktan.springboot.config.CacheConfiguration;
+import com.onurhaktan.springboot.index.EmployeeEmailIndex;
+import com.onurhaktan.springboot.index.EmployeeSearchIndex;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import com.onurhaktan.springboot.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Runs EmployeeServiceImpl behind the real Caffeine cache configured in application.properties,
+// with a mocked repository so the test can count database reads.
+@SpringBootTest(classes = {EmployeeServiceImpl.class, EmployeeReadCoalescer.class, CacheConfiguration.class,
+        EmployeeServiceCacheTests.CacheTestConfiguration.class})
+public class EmployeeServiceCacheTests {
+
+    @Configuration
+    @EnableCaching
+    @ImportAutoConfiguration(CacheAutoConfiguration.class)
+    static class CacheTestConfiguration {
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private EmployeeEmailIndex employeeEmailIndex;
+
+    @MockBean
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @MockBean
+    private EmployeeListCache employeeListCache;
+
+    @MockBean
+    private EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EmployeeReadCoalescer employeeReadCoalescer;
+
+    private Employee employee;
+
+    @BeforeEach
+    public void setup(){
+        cacheManager.getCache(EmployeeServiceImpl.EMPLOYEE_CACHE).clear();
+
+        employee = Employee.builder()
+                .id(1L)
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("onur@email.com")
+                .build();
+    }
+
+    // JUnit test for getEmployeeById method served from the cache
+    @DisplayName("JUnit test for getEmployeeById method served from the cache")
+    @Test
+    public void givenCachedEmployee_whenGetEmployeeById_thenRepositoryIsCalledOnce(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+
+        // when - action or behaviour that we are going test
+        employeeService.getEmployeeById(1L);
+        Optional<Employee> cachedEmployee = employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        Assertions.assertThat(cachedEmployee).contains(employee);
+        verify(employeeRepository, times(1)).findById(1L);
+
+        CacheStats stats = ((CaffeineCache) cacheManager.getCache(EmployeeServiceImpl.EMPLOYEE_CACHE))
+                .getNativeCache().stats();
+        Assertions.assertThat(stats.hitCount()).isEqualTo(1);
+        Assertions.assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    // JUnit test for updateEmployee followed by getEmployeeById
+    @DisplayName("JUnit test for updateEmployee followed by getEmployeeById")
+    @Test
+    public void givenCachedEmployee_whenUpdateEmployee_thenGetEmployeeByIdReturnsUpdatedEmployee(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+        employeeService.getEmployeeById(1L);
+
+        Employee updatedEmployee = Employee.builder()
+                .id(1L)
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        employeeService.updateEmployee(updatedEmployee);
+        Employee employeeAfterUpdate = employeeService.getEmployeeById(1L).get();
+
+        // then - verify the output
+        Assertions.assertThat(employeeAfterUpdate.getFirstName()).isEqualTo("Göksu");
+        Assertions.assertThat(employeeAfterUpdate.getEmail()).isEqualTo("goksu@email.com");
+        // the first read and the update load the row, the read after the update is served from the cache
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    // JUnit test for a getEmployeeById that loaded the row before a concurrent updateEmployee
+    @DisplayName("JUnit test for a getEmployeeById that loaded the row before a concurrent updateEmployee")
+    @Test
+    public void givenReadLoadedBeforeUpdate_whenUpdateEmployee_thenCacheKeepsUpdatedEmployee() throws Exception {
+
+        // given - precondition or setup
+        CountDownLatch rowLoaded = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        // the read loads version 0 and is held back until the update has put version 1
+        given(employeeRepository.findById(1L)).willAnswer((invocation) -> {
+            rowLoaded.countDown();
+            updated.await(10, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+        given(employeeRepository.updateByIdAndVersion(anyLong(), anyLong(), anyString(), anyString(), anyString(),
+                anyString(), anyString())).willReturn(1);
+        Employee changes = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Turaç")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Optional<Employee>> read = executor.submit(() -> employeeService.getEmployeeById(1L));
+            Assertions.assertThat(rowLoaded.await(10, TimeUnit.SECONDS)).isTrue();
+            employeeService.updateEmployee(1L, 0L, changes);
+            updated.countDown();
+            read.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        Employee cachedEmployee = employeeService.getEmployeeById(1L).get();
+
+        // then - verify the output
+        Assertions.assertThat(cachedEmployee.getVersion()).isEqualTo(1L);
+        Assertions.assertThat(cachedEmployee.getFirstName()).isEqualTo("Göksu");
+        verify(employeeRepository, times(1)).findById(1L);
+    }
+
+    // JUnit test for deleteEmployee followed by getEmployeeById
+    @DisplayName("JUnit test for deleteEmployee followed by getEmployeeById")
+    @Test
+    public void givenCachedEmployee_whenDeleteEmployee_thenGetEmployeeByIdGoesToRepository(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee), Optional.empty());
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
+        employeeService.getEmployeeById(1L);
+
+        // when - action or behaviour that we are going test
+        employeeService.deleteEmployee(1L);
+        Optional<Employee> employeeAfterDelete = employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        Assertions.assertThat(employeeAfterDelete).isEmpty();
+        verify(employeeRepository, times(2)).findById(1L);
+    }
+
+    // JUnit test for concurrent getEmployeeById calls missing the cache
+    @DisplayName("JUnit test for concurrent getEmployeeById calls missing the cache")
+    @Test
+    public void givenConcurrentCacheMisses_whenGetEmployeeById_thenRepositoryIsCalledOnce() throws Exception {
+
+        // given - precondition or setup
+        int callers = 8;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        employeeReadCoalescer.bindTo(meterRegistry);
+        // the first query is held back until every other caller has joined it
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        given(employeeRepository.findById(1L)).willAnswer((invocation) -> {
+            releaseQuery.await(10, TimeUnit.SECONDS);
+            return Optional.of(employee);
+        });
+
+        // when - action or behaviour that we are going test
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Optional<Employee>> results = new ArrayList<>();
+        try {
+            List<Future<Optional<Employee>>> calls = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> employeeService.getEmployeeById(1L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (meterRegistry.get("employees.reads.coalesced").functionCounter().count() < callers - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            releaseQuery.countDown();
+            for (Future<Optional<Employee>> call : calls) {
+                results.add(call.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then - verify the output
+        Assertions.assertThat(results).hasSize(callers).containsOnly(Optional.of(employee));
+        verify(employeeRepository, times(1)).findById(1L);
+        Assertions.assertThat(meterRegistry.get("employees.reads.coalesced").functionCounter().count()).isEqualTo(callers - 1);
+        Assertions.assertThat(meterRegistry.get("employees.reads.in-flight").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.cache.EmployeeReadCoalescer;
+import com.onurhaktan.springboot.config.MetricsConfiguration;
+import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.index.EmployeeEmailIndex;
+import com.onurhaktan.springboot.index.EmployeeSearchIndex;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.repository.EmployeeRepository;
+import com.onurhaktan.springboot.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+// Runs EmployeeServiceImpl behind the @Timed aspect with a local Prometheus registry, no actuator or scrape endpoint needed.
+// Caching is ordered like in SpringBootTestingApplication.
+@SpringBootTest(classes = {EmployeeServiceImpl.class, EmployeeReadCoalescer.class, MetricsConfiguration.class,
+        EmployeeServiceMetricsTests.MetricsTestConfiguration.class})
+public class EmployeeServiceMetricsTests {
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @EnableCaching(order = MetricsConfiguration.TIMED_ORDER + 1)
+    static class MetricsTestConfiguration {
+
+        @Bean
+        public PrometheusMeterRegistry meterRegistry() {
+            return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        }
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(EmployeeServiceImpl.EMPLOYEE_CACHE);
+        }
+    }
+
+    @MockBean
+    private EmployeeRepository employeeRepository;
+
+    @MockBean
+    private EntityManager entityManager;
+
+    @MockBean
+    private EmployeeEmailIndex employeeEmailIndex;
+
+    @MockBean
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @MockBean
+    private EmployeeListCache employeeListCache;
+
+    @MockBean
+    private EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PrometheusMeterRegistry meterRegistry;
+
+    // JUnit test for the getEmployeeById timer, the second call is a cache hit
+    @DisplayName("JUnit test for the getEmployeeById timer")
+    @Test
+    public void givenEmployee_whenGetEmployeeById_thenCallIsTimedWithPercentiles(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(Employee.builder().id(1L).build()));
+
+        // when - action or behaviour that we are going test
+        employeeService.getEmployeeById(1L);
+        employeeService.getEmployeeById(1L);
+
+        // then - verify the output
+        Timer timer = meterRegistry.get(EmployeeServiceImpl.SERVICE_TIMER)
+                .tags("method", "getEmployeeById", "exception", "none")
+                .timer();
+        Assertions.assertThat(timer.count()).isEqualTo(2);
+        then(employeeRepository).should(times(1)).findById(1L);
+        Assertions.assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+        // histogram buckets in the scrape output let Prometheus aggregate percentiles across instances
+        Assertions.assertThat(meterRegistry.scrape())
+                .contains("employees_service_seconds_bucket{")
+                .contains("method=\"getEmployeeById\"");
+    }
+
+    // JUnit test for the deleteEmployee timer with a failing call
+    @DisplayName("JUnit test for the deleteEmployee timer with a failing call")
+    @Test
+    public void givenMissingEmployee_whenDeleteEmployee_thenFailureIsTimedWithExceptionTag(){
+
+        // given - precondition or setup
+        given(employeeRepository.deleteEmployeeById(2L)).willReturn(0);
+
+        // when - action or behaviour that we are going test
+        Assertions.assertThatThrownBy(() -> employeeService.deleteEmployee(2L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // then - verify the output
+        Assertions.assertThat(meterRegistry.get(EmployeeServiceImpl.SERVICE_TIMER)
+                .tags("method", "deleteEmployee", "exception", ResourceNotFoundException.class.getSimpleName())
+                .timer()
+                .count()).isEqualTo(1);
+    }
+}
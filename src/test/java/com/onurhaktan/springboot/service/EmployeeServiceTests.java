@@ -1,10 +1,24 @@
 package com.onurhaktan.springboot.service;
 
+import com.onurhaktan.springboot.cache.EmployeeJsonCache;
+import com.onurhaktan.springboot.cache.EmployeeListCache;
+import com.onurhaktan.springboot.cache.EmployeeReadCoalescer;
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.EmployeeBatch;
+import com.onurhaktan.springboot.dto.EmployeeFieldsPage;
+import com.onurhaktan.springboot.dto.EmployeePage;
+import com.onurhaktan.springboot.dto.EmployeeSearchHit;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.PreconditionFailedException;
 import com.onurhaktan.springboot.exception.ResourceNotFoundException;
+import com.onurhaktan.springboot.index.EmployeeEmailIndex;
+import com.onurhaktan.springboot.index.EmployeeSearchIndex;
 import com.onurhaktan.springboot.model.Employee;
 import com.onurhaktan.springboot.repository.EmployeeRepository;
 import com.onurhaktan.springboot.service.impl.EmployeeServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,11 +32,19 @@ import static org.mockito.Mockito.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 public class EmployeeServiceTests {
@@ -31,6 +53,25 @@ public class EmployeeServiceTests {
     // We use @Mock annotation mock the object
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EmployeeEmailIndex employeeEmailIndex;
+
+    @Mock
+    private EmployeeSearchIndex employeeSearchIndex;
+
+    @Mock
+    private EmployeeListCache employeeListCache;
+
+    @Mock
+    private EmployeeJsonCache employeeJsonCache;
+
+    // the real coalescer, tests call the service from a single thread so every read loads on its own
+    @Spy
+    private EmployeeReadCoalescer employeeReadCoalescer = new EmployeeReadCoalescer();
+
     @InjectMocks
     // @InjectMocks creates the mock object of the class and injects the mocks that are marked with the annotation @Mock into it
     private EmployeeServiceImpl employeeServiceImpl;
@@ -60,16 +101,15 @@ public class EmployeeServiceTests {
     public void givenEmployeeObject_whenSaveEmployee_thenReturnEmployeeObject(){
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.empty());
-
-        given(employeeRepository.save(employee)).willReturn(employee);
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
 
         // when - action or behaviour that we are going test
         Employee savedEmployee = employeeServiceImpl.saveEmployee(employee);
 
         // then - verify the output
         Assertions.assertThat(savedEmployee).isNotNull();
+        verify(employeeRepository, never()).findByEmail(anyString());
+        verify(employeeEmailIndex).add(employee.getEmail());
 
     }
 
@@ -79,8 +119,11 @@ public class EmployeeServiceTests {
     public void givenExistingEmail_whenSaveEmployee_thenThrowsException(){
 
         // given - precondition or setup
-        given(employeeRepository.findByEmail(employee.getEmail()))
-                .willReturn(Optional.of(employee));
+        // the unique index on email rejects the INSERT
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("duplicate",
+                        new ConstraintViolationException("Duplicate entry", new SQLException("Duplicate entry"),
+                                "employees." + Employee.EMAIL_UNIQUE_CONSTRAINT)));
 
         // when - action or behaviour that we are going test
         org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
@@ -88,7 +131,23 @@ public class EmployeeServiceTests {
         });
 
         // then - verify the output
-        verify(employeeRepository, never()).save(any(Employee.class));
+        verify(employeeRepository, never()).findByEmail(anyString());
+    }
+
+    // JUnit test for saveEmployee method which does not hide other constraint violations
+    @DisplayName("JUnit test for saveEmployee method which does not hide other constraint violations")
+    @Test
+    public void givenOtherConstraintViolation_whenSaveEmployee_thenThrowsDataIntegrityViolation(){
+
+        // given - precondition or setup
+        given(employeeRepository.saveAndFlush(employee))
+                .willThrow(new DataIntegrityViolationException("not null",
+                        new ConstraintViolationException("Column cannot be null", new SQLException("Column cannot be null"), null)));
+
+        // when - action or behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(DataIntegrityViolationException.class, () -> {
+            employeeServiceImpl.saveEmployee(employee);
+        });
     }
 
     // JUnit test for getAllEmployees method
@@ -158,18 +217,62 @@ public class EmployeeServiceTests {
     public void givenEmployeeObject_whenUpdatedEmployee_thenReturnUpdatedEmployee(){
 
         // given - precondition or setup
-        given(employeeRepository.save(employee)).willReturn(employee);
-        employee.setFirstName("Göksu");
-        employee.setEmail("goksu@email");
+        // the changes are applied to the current row, whatever version the caller has seen
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        given(employeeRepository.saveAndFlush(employee)).willReturn(employee);
+        Employee changes = Employee.builder()
+                .id(1L)
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email")
+                .build();
 
         // when - action or behaviour that we are going test
-        Employee updatedEmployee = employeeServiceImpl.updateEmployee(employee);
+        Employee updatedEmployee = employeeServiceImpl.updateEmployee(changes).get();
 
         // then - verify the output
         Assertions.assertThat(updatedEmployee.getFirstName()).isEqualTo("Göksu");
         Assertions.assertThat(updatedEmployee.getEmail()).isEqualTo("goksu@email");
     }
 
+    // JUnit test for updatedEmployee method with unchanged values
+    @DisplayName("JUnit test for updatedEmployee method with unchanged values")
+    @Test
+    public void givenUnchangedEmployeeObject_whenUpdatedEmployee_thenNothingIsWritten(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.of(employee));
+        Employee changes = Employee.builder()
+                .id(1L)
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .build();
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> updatedEmployee = employeeServiceImpl.updateEmployee(changes);
+
+        // then - verify the output
+        Assertions.assertThat(updatedEmployee).contains(employee);
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+
+    // JUnit test for updatedEmployee method with a missing employee
+    @DisplayName("JUnit test for updatedEmployee method with a missing employee")
+    @Test
+    public void givenMissingEmployee_whenUpdatedEmployee_thenReturnEmpty(){
+
+        // given - precondition or setup
+        given(employeeRepository.findById(1L)).willReturn(Optional.empty());
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> updatedEmployee = employeeServiceImpl.updateEmployee(employee);
+
+        // then - verify the output
+        Assertions.assertThat(updatedEmployee).isEmpty();
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+
     // JUnit test for deleteEmployee method
     @DisplayName("JUnit test for deleteEmployee method")
     @Test
@@ -177,14 +280,575 @@ public class EmployeeServiceTests {
 
         // given - precondition or setup
         long employeeId = 1L;
-        // willDoNothing() ensures that the specified method does not perform any operation.
-        willDoNothing().given(employeeRepository).deleteById(employeeId);
+        // the single DELETE statement reports one deleted row
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(1);
 
         // when - action or behaviour that we are going test
         employeeServiceImpl.deleteEmployee(employeeId);
 
         // then - verify the output
-        verify(employeeRepository, times(1)).deleteById(employeeId);
+        verify(employeeRepository, times(1)).deleteEmployeeById(employeeId);
+        verify(employeeRepository, never()).deleteById(anyLong());
+
+    }
+
+    // JUnit test for getEmployeesPage method
+    @DisplayName("JUnit test for getEmployeesPage method")
+    @Test
+    public void givenMoreEmployeesThanPageSize_whenGetEmployeesPage_thenReturnPageWithNextCursor(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+
+        given(employeeRepository.findNextPage(0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee, employee1));
+        given(employeeRepository.findNextPage(1L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee1));
+
+        // when - action or behaviour that we are going test
+        EmployeePage firstPage = employeeServiceImpl.getEmployeesPage(null, 1);
+        EmployeePage lastPage = employeeServiceImpl.getEmployeesPage(firstPage.nextCursor(), 1);
+
+        // then - verify the output
+        Assertions.assertThat(firstPage.content()).containsExactly(employee);
+        Assertions.assertThat(firstPage.nextCursor()).isNotNull();
+        Assertions.assertThat(lastPage.content()).containsExactly(employee1);
+        Assertions.assertThat(lastPage.nextCursor()).isNull();
+    }
+
+    // JUnit test for getEmployeesPage method which caps the page size
+    @DisplayName("JUnit test for getEmployeesPage method which caps the page size")
+    @Test
+    public void givenTooLargePageSize_whenGetEmployeesPage_thenUseMaxPageSize(){
+
+        // given - precondition or setup
+        given(employeeRepository.findNextPage(0L, PageRequest.of(0, EmployeeServiceImpl.MAX_PAGE_SIZE + 1)))
+                .willReturn(Collections.emptyList());
+
+        // when - action or behaviour that we are going test
+        EmployeePage page = employeeServiceImpl.getEmployeesPage(null, 100_000);
+
+        // then - verify the output
+        Assertions.assertThat(page.content()).isEmpty();
+        Assertions.assertThat(page.nextCursor()).isNull();
+    }
+
+    // JUnit test for getEmployeesPage method which throws exception
+    @DisplayName("JUnit test for getEmployeesPage method which throws exception")
+    @Test
+    public void givenInvalidCursor_whenGetEmployeesPage_thenThrowsException(){
+
+        // when - action or behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeServiceImpl.getEmployeesPage("not-a-cursor", 10);
+        });
+
+        // then - verify the output
+        verify(employeeRepository, never()).findNextPage(anyLong(), any());
+    }
+
+    // JUnit test for exportEmployees method
+    @DisplayName("JUnit test for exportEmployees method")
+    @Test
+    public void givenEmployeeStream_whenExportEmployees_thenEveryEmployeeIsWrittenAndDetached(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+
+        given(employeeRepository.streamAll()).willReturn(Stream.of(employee, employee1));
+        List<Employee> exported = new ArrayList<>();
+
+        // when - action or behaviour that we are going test
+        employeeServiceImpl.exportEmployees(exported::add);
+
+        // then - verify the output
+        Assertions.assertThat(exported).containsExactly(employee, employee1);
+        verify(entityManager).detach(employee);
+        verify(entityManager).detach(employee1);
+    }
+
+    // JUnit test for saveEmployees method
+    @DisplayName("JUnit test for saveEmployees method")
+    @Test
+    public void givenEmployeesList_whenSaveEmployees_thenReturnResultPerEmployee(){
+
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+        Employee repeatedEmployee = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+        Employee invalidEmployee = Employee.builder()
+                .firstName("Göksu")
+                .build();
+
+        given(employeeEmailIndex.mightBeRegistered(anyString())).willReturn(true);
+        given(employeeRepository.findExistingEmails(Set.of(employee.getEmail(), newEmployee.getEmail())))
+                .willReturn(Set.of(employee.getEmail()));
+        given(employeeRepository.insertAll(List.of(newEmployee))).willAnswer((invocation) -> {
+            newEmployee.setId(2L);
+            return invocation.getArgument(0);
+        });
+
+        // when - action or behaviour that we are going test
+        List<BulkCreateResult> results = employeeServiceImpl.saveEmployees(
+                List.of(employee, newEmployee, repeatedEmployee, invalidEmployee));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(BulkCreateResult::status).containsExactly(
+                BulkCreateResult.Status.DUPLICATE,
+                BulkCreateResult.Status.CREATED,
+                BulkCreateResult.Status.DUPLICATE,
+                BulkCreateResult.Status.INVALID);
+        Assertions.assertThat(results.get(1).employee()).isSameAs(newEmployee);
+        verify(employeeRepository, times(1)).findExistingEmails(any());
+    }
+
+    // JUnit test for saveEmployees method with emails that differ only in case
+    @DisplayName("JUnit test for saveEmployees method with emails that differ only in case")
+    @Test
+    public void givenEmailsDifferingInCase_whenSaveEmployees_thenReturnDuplicates(){
+
+        // given - precondition or setup
+        Employee storedInOtherCase = Employee.builder()
+                .firstName("Onur")
+                .lastName("Haktan")
+                .email("ONUR@email.com")
+                .build();
+        Employee newEmployee = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akin@email.com")
+                .build();
+        Employee repeatedInOtherCase = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("Akin@Email.com")
+                .build();
+
+        given(employeeEmailIndex.mightBeRegistered(anyString())).willReturn(true);
+        // the email column collation matches regardless of case
+        given(employeeRepository.findExistingEmails(any())).willReturn(Set.of(employee.getEmail()));
+        given(employeeRepository.insertAll(List.of(newEmployee))).willAnswer((invocation) -> {
+            newEmployee.setId(2L);
+            return invocation.getArgument(0);
+        });
+
+        // when - action or behaviour that we are going test
+        List<BulkCreateResult> results = employeeServiceImpl.saveEmployees(
+                List.of(storedInOtherCase, newEmployee, repeatedInOtherCase));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(BulkCreateResult::status).containsExactly(
+                BulkCreateResult.Status.DUPLICATE,
+                BulkCreateResult.Status.CREATED,
+                BulkCreateResult.Status.DUPLICATE);
+    }
+
+    // JUnit test for saveEmployees method with a row the database rejects
+    @DisplayName("JUnit test for saveEmployees method with a row the database rejects")
+    @Test
+    public void givenEmailStoredConcurrently_whenSaveEmployees_thenOnlyThatRowIsRejected(){
+
+        // given - precondition or setup
+        Employee newEmployee = Employee.builder()
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akin@email.com")
+                .build();
+        Employee concurrentEmployee = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+
+        given(employeeEmailIndex.mightBeRegistered(anyString())).willReturn(false);
+        // insertAll leaves the rejected row without an id
+        given(employeeRepository.insertAll(List.of(newEmployee, concurrentEmployee))).willAnswer((invocation) -> {
+            newEmployee.setId(2L);
+            return invocation.getArgument(0);
+        });
+
+        // when - action or behaviour that we are going test
+        List<BulkCreateResult> results = employeeServiceImpl.saveEmployees(List.of(newEmployee, concurrentEmployee));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(BulkCreateResult::status).containsExactly(
+                BulkCreateResult.Status.CREATED,
+                BulkCreateResult.Status.DUPLICATE);
+        verify(employeeEmailIndex).add(newEmployee.getEmail());
+        verify(employeeEmailIndex, never()).add(concurrentEmployee.getEmail());
+        verify(employeeSearchIndex).indexAll(List.of(newEmployee));
+    }
+
+    // JUnit test for saveEmployees method with an id sent by the client
+    @DisplayName("JUnit test for saveEmployees method with an id sent by the client")
+    @Test
+    public void givenClientSentId_whenSaveEmployeesAndRowRejected_thenReturnDuplicate(){
+
+        // given - precondition or setup
+        Employee concurrentEmployee = Employee.builder()
+                .id(7L)
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+
+        given(employeeEmailIndex.mightBeRegistered(anyString())).willReturn(false);
+        // insertAll leaves the rejected row without an id
+        given(employeeRepository.insertAll(anyList())).willAnswer((invocation) -> invocation.getArgument(0));
+
+        // when - action or behaviour that we are going test
+        List<BulkCreateResult> results = employeeServiceImpl.saveEmployees(List.of(concurrentEmployee));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(BulkCreateResult::status)
+                .containsExactly(BulkCreateResult.Status.DUPLICATE);
+        verify(employeeEmailIndex, never()).add(concurrentEmployee.getEmail());
+    }
+
+    // JUnit test for saveEmployee method with an email the index reports as registered
+    @DisplayName("JUnit test for saveEmployee method with an email the index reports as registered")
+    @Test
+    public void givenRegisteredEmail_whenSaveEmployee_thenThrowsExceptionWithoutInsert(){
+
+        // given - precondition or setup
+        given(employeeEmailIndex.isRegistered(employee.getEmail())).willReturn(true);
+
+        // when - action or behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeServiceImpl.saveEmployee(employee);
+        });
+
+        // then - verify the output
+        verify(employeeRepository, never()).saveAndFlush(any(Employee.class));
+    }
+
+    // JUnit test for saveEmployees method with emails the index rules out
+    @DisplayName("JUnit test for saveEmployees method with emails the index rules out")
+    @Test
+    public void givenNewEmails_whenSaveEmployees_thenSkipDuplicateCheckQuery(){
+
+        // given - precondition or setup
+        given(employeeEmailIndex.mightBeRegistered(employee.getEmail())).willReturn(false);
+        given(employeeRepository.insertAll(List.of(employee))).willAnswer((invocation) -> {
+            employee.setId(1L);
+            return invocation.getArgument(0);
+        });
+
+        // when - action or behaviour that we are going test
+        List<BulkCreateResult> results = employeeServiceImpl.saveEmployees(List.of(employee));
+
+        // then - verify the output
+        Assertions.assertThat(results).extracting(BulkCreateResult::status)
+                .containsExactly(BulkCreateResult.Status.CREATED);
+        verify(employeeRepository, never()).findExistingEmails(any());
+        verify(employeeEmailIndex).add(employee.getEmail());
+    }
+
+    // JUnit test for patchEmployee method
+    @DisplayName("JUnit test for patchEmployee method")
+    @Test
+    public void givenEmployeeIdAndChanges_whenPatchEmployee_thenSingleUpdateIsIssued(){
+
+        // given - precondition or setup
+        Employee changes = Employee.builder()
+                .email("goksu@email.com")
+                .build();
+        given(employeeRepository.patchById(1L, null, null, "goksu@email.com")).willReturn(1);
+
+        // when - action or behaviour that we are going test
+        boolean patched = employeeServiceImpl.patchEmployee(1L, changes);
+
+        // then - verify the output
+        Assertions.assertThat(patched).isTrue();
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeEmailIndex).add("goksu@email.com");
+        verify(employeeSearchIndex).patch(1L, changes);
+    }
+
+    // JUnit test for patchEmployee method negative scenario
+    @DisplayName("JUnit test for patchEmployee method negative scenario")
+    @Test
+    public void givenInvalidEmployeeId_whenPatchEmployee_thenReturnFalse(){
+
+        // given - precondition or setup
+        Employee changes = Employee.builder()
+                .firstName("Göksu")
+                .build();
+        given(employeeRepository.patchById(2L, "Göksu", null, null)).willReturn(0);
+
+        // when - action or behaviour that we are going test
+        boolean patched = employeeServiceImpl.patchEmployee(2L, changes);
+
+        // then - verify the output
+        Assertions.assertThat(patched).isFalse();
+    }
+
+    // JUnit test for deleteEmployee method which throws exception
+    @DisplayName("JUnit test for deleteEmployee method which throws exception")
+    @Test
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenThrowsException(){
+
+        // given - precondition or setup
+        long employeeId = 1L;
+        given(employeeRepository.deleteEmployeeById(employeeId)).willReturn(0);
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        org.junit.jupiter.api.Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeServiceImpl.deleteEmployee(employeeId);
+        });
+    }
+
+    // JUnit test for deleteEmployees method
+    @DisplayName("JUnit test for deleteEmployees method")
+    @Test
+    public void givenEmployeeIds_whenDeleteEmployees_thenReturnDeletedCount(){
+
+        // given - precondition or setup
+        given(employeeRepository.deleteEmployeesByIds(List.of(1L, 2L, 3L))).willReturn(2);
+
+        // when - action or behaviour that we are going test
+        int deleted = employeeServiceImpl.deleteEmployees(List.of(1L, 2L, 3L));
+
+        // then - verify the output
+        Assertions.assertThat(deleted).isEqualTo(2);
+    }
+
+    // JUnit test for deleteEmployeesByLastName method
+    @DisplayName("JUnit test for deleteEmployeesByLastName method")
+    @Test
+    public void givenLastName_whenDeleteEmployeesByLastName_thenReturnDeletedCount(){
+
+        // given - precondition or setup
+        given(employeeRepository.deleteEmployeesByLastName("Haktan")).willReturn(2);
+
+        // when - action or behaviour that we are going test
+        int deleted = employeeServiceImpl.deleteEmployeesByLastName("Haktan");
+
+        // then - verify the output
+        Assertions.assertThat(deleted).isEqualTo(2);
+    }
+
+    // JUnit test for getEmployeesByIds method
+    @DisplayName("JUnit test for getEmployeesByIds method")
+    @Test
+    public void givenEmployeeIds_whenGetEmployeesByIds_thenReturnEmployeesInRequestOrder(){
+
+        // given - precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(2L)
+                .firstName("Akın")
+                .lastName("Haktan")
+                .email("akın@email.com")
+                .build();
+
+        given(employeeRepository.findAllById(Set.of(2L, 3L, 1L))).willReturn(List.of(employee, employee1));
+
+        // when - action or behaviour that we are going test
+        EmployeeBatch batch = employeeServiceImpl.getEmployeesByIds(List.of(2L, 3L, 1L, 2L));
+
+        // then - verify the output
+        Assertions.assertThat(batch.employees()).containsExactly(employee1, employee);
+        Assertions.assertThat(batch.missingIds()).containsExactly(3L);
+        verify(employeeRepository, times(1)).findAllById(any());
+    }
+
+    // JUnit test for getEmployeeFieldsPage method
+    @DisplayName("JUnit test for getEmployeeFieldsPage method")
+    @Test
+    public void givenFields_whenGetEmployeeFieldsPage_thenSelectOnlyThoseFieldsOnePageAtATime(){
+
+        // given - precondition or setup
+        given(employeeRepository.findFields(List.of("id", "email"), 0L, 2))
+                .willReturn(List.of(Map.of("id", 1L, "email", "onur@email.com"), Map.of("id", 2L, "email", "goksu@email.com")));
+        given(employeeRepository.findFields(List.of("id", "email"), 1L, 2))
+                .willReturn(List.of(Map.of("id", 2L, "email", "goksu@email.com")));
+
+        // when - action or behaviour that we are going test
+        EmployeeFieldsPage firstPage = employeeServiceImpl.getEmployeeFieldsPage(List.of("id", " email", "id"), null, 1);
+        EmployeeFieldsPage secondPage = employeeServiceImpl.getEmployeeFieldsPage(List.of("id", "email"),
+                firstPage.nextCursor(), 1);
+
+        // then - verify the output
+        Assertions.assertThat(firstPage.content()).hasSize(1);
+        Assertions.assertThat(firstPage.content().get(0)).containsOnlyKeys("id", "email");
+        Assertions.assertThat(firstPage.nextCursor()).isNotNull();
+        Assertions.assertThat(secondPage.content()).hasSize(1);
+        Assertions.assertThat(secondPage.nextCursor()).isNull();
+        verify(employeeRepository, never()).findAll();
+    }
+
+    // JUnit test for getEmployeeFieldsById method which throws exception
+    @DisplayName("JUnit test for getEmployeeFieldsById method which throws exception")
+    @Test
+    public void givenUnknownField_whenGetEmployeeFieldsById_thenThrowsException(){
+
+        // when - action or behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeServiceImpl.getEmployeeFieldsById(1L, List.of("id", "salary"));
+        });
+
+        // then - verify the output
+        verify(employeeRepository, never()).findFieldsById(anyLong(), anyList());
+    }
+
+    // JUnit test for searchEmployees method
+    @DisplayName("JUnit test for searchEmployees method")
+    @Test
+    public void givenNamePrefix_whenSearchEmployees_thenReturnPageWithCursor(){
+
+        // given - precondition or setup
+        employee.normalizeNames();
+        Employee secondEmployee = Employee.builder().id(2L).firstName("Ozan").lastName("Haktan").email("ozan@email.com").build();
+        secondEmployee.normalizeNames();
+        given(employeeRepository.searchByNamePrefix("ha!_k!%%", "%", "", "", 0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee, secondEmployee));
+        given(employeeRepository.searchByNamePrefix("ha!_k!%%", "%", "haktan", "onur", 1L, PageRequest.of(0, 2)))
+                .willReturn(List.of(secondEmployee));
+
+        // when - action or behaviour that we are going test
+        EmployeePage firstPage = employeeServiceImpl.searchEmployees(null, " HA_k%", null, 1);
+        EmployeePage secondPage = employeeServiceImpl.searchEmployees(null, " HA_k%", firstPage.nextCursor(), 1);
+
+        // then - verify the output
+        Assertions.assertThat(firstPage.content()).containsExactly(employee);
+        Assertions.assertThat(firstPage.nextCursor()).isNotNull();
+        Assertions.assertThat(secondPage.content()).containsExactly(secondEmployee);
+        Assertions.assertThat(secondPage.nextCursor()).isNull();
+    }
 
+    // JUnit test for searchEmployees method with a first name prefix only
+    @DisplayName("JUnit test for searchEmployees method with a first name prefix only")
+    @Test
+    public void givenFirstNamePrefixOnly_whenSearchEmployees_thenUseFirstNameOrder(){
+
+        // given - precondition or setup
+        employee.normalizeNames();
+        Employee secondEmployee = Employee.builder().id(2L).firstName("Onurcan").lastName("Akın").email("onurcan@email.com").build();
+        secondEmployee.normalizeNames();
+        given(employeeRepository.searchByFirstNamePrefix("onu%", "", 0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee, secondEmployee));
+        given(employeeRepository.searchByFirstNamePrefix("onu%", "onur", 1L, PageRequest.of(0, 2)))
+                .willReturn(List.of(secondEmployee));
+
+        // when - action or behaviour that we are going test
+        EmployeePage firstPage = employeeServiceImpl.searchEmployees("Onu", null, null, 1);
+        EmployeePage secondPage = employeeServiceImpl.searchEmployees("Onu", null, firstPage.nextCursor(), 1);
+
+        // then - verify the output
+        Assertions.assertThat(firstPage.content()).containsExactly(employee);
+        Assertions.assertThat(secondPage.content()).containsExactly(secondEmployee);
+        Assertions.assertThat(secondPage.nextCursor()).isNull();
+        verify(employeeRepository, never()).searchByNamePrefix(any(), any(), any(), any(), anyLong(), any());
+    }
+
+    // JUnit test for searchEmployees method which throws exception
+    @DisplayName("JUnit test for searchEmployees method which throws exception")
+    @Test
+    public void givenNoPrefix_whenSearchEmployees_thenThrowsException(){
+
+        // when - action or behaviour that we are going test
+        org.junit.jupiter.api.Assertions.assertThrows(BadRequestException.class, () -> {
+            employeeServiceImpl.searchEmployees(" ", null, null, 10);
+        });
+
+        // then - verify the output
+        verifyNoInteractions(employeeRepository);
+    }
+
+    // JUnit test for searchEmployeesByText method
+    @DisplayName("JUnit test for searchEmployeesByText method")
+    @Test
+    public void givenSearchText_whenSearchEmployeesByText_thenReturnHitsFromSearchIndex(){
+
+        // given - precondition or setup
+        given(employeeSearchIndex.search("hakton", EmployeeServiceImpl.MAX_PAGE_SIZE))
+                .willReturn(List.of(new EmployeeSearchHit(employee, 1.5f)));
+
+        // when - action or behaviour that we are going test
+        List<EmployeeSearchHit> hits = employeeServiceImpl.searchEmployeesByText("hakton", 1000);
+
+        // then - verify the output
+        Assertions.assertThat(hits).extracting(EmployeeSearchHit::employee).containsExactly(employee);
+        verifyNoInteractions(employeeRepository);
+    }
+
+    // JUnit test for deleteEmployee method keeping the search index in sync
+    @DisplayName("JUnit test for deleteEmployee method keeping the search index in sync")
+    @Test
+    public void givenEmployeeId_whenDeleteEmployee_thenRemoveFromSearchIndex(){
+
+        // given - precondition or setup
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
+
+        // when - action or behaviour that we are going test
+        employeeServiceImpl.deleteEmployee(1L);
+
+        // then - verify the output
+        verify(employeeSearchIndex).remove(List.of(1L));
+    }
+
+    // JUnit test for conditional updateEmployee method
+    @DisplayName("JUnit test for conditional updateEmployee method")
+    @Test
+    public void givenExpectedVersion_whenUpdateEmployee_thenSingleCompareAndSetUpdateIsIssued(){
+
+        // given - precondition or setup
+        given(employeeRepository.updateByIdAndVersion(1L, 3L, "Göksu", "Haktan", "goksu@email.com", "göksu", "haktan"))
+                .willReturn(1);
+        Employee changes = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        Optional<Employee> updatedEmployee = employeeServiceImpl.updateEmployee(1L, 3L, changes);
+
+        // then - verify the output
+        Assertions.assertThat(updatedEmployee).isPresent();
+        Assertions.assertThat(updatedEmployee.get().getVersion()).isEqualTo(4L);
+        verify(employeeRepository, never()).findById(anyLong());
+        verify(employeeRepository, never()).findVersionById(anyLong());
+        verify(employeeSearchIndex).index(updatedEmployee.get());
+    }
+
+    // JUnit test for conditional updateEmployee method with a stale version
+    @DisplayName("JUnit test for conditional updateEmployee method with a stale version")
+    @Test
+    public void givenStaleVersion_whenUpdateEmployee_thenThrowsPreconditionFailed(){
+
+        // given - precondition or setup
+        given(employeeRepository.updateByIdAndVersion(1L, 3L, "Göksu", "Haktan", "goksu@email.com", "göksu", "haktan"))
+                .willReturn(0);
+        given(employeeRepository.findVersionById(1L)).willReturn(Optional.of(5L));
+        Employee changes = Employee.builder()
+                .firstName("Göksu")
+                .lastName("Haktan")
+                .email("goksu@email.com")
+                .build();
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> employeeServiceImpl.updateEmployee(1L, 3L, changes))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(employeeSearchIndex, never()).index(any(Employee.class));
     }
 }
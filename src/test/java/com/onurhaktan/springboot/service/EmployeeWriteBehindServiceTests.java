@@ -0,0 +1,152 @@
+package com.onurhaktan.springboot.service;
+
+import com.onurhaktan.springboot.dto.BulkCreateResult;
+import com.onurhaktan.springboot.dto.PendingCreate;
+import com.onurhaktan.springboot.exception.BadRequestException;
+import com.onurhaktan.springboot.exception.ServiceUnavailableException;
+import com.onurhaktan.springboot.model.Employee;
+import com.onurhaktan.springboot.service.impl.EmployeeWriteBehindServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class EmployeeWriteBehindServiceTests {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EmployeeWriteBehindServiceImpl employeeWriteBehindService;
+
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    @BeforeEach
+    public void setup(){
+        meterRegistry = new SimpleMeterRegistry();
+        // a queue of 3 and batches of 2 so the tests can fill the queue and see more than one batch
+        employeeWriteBehindService = new EmployeeWriteBehindServiceImpl(employeeService, meterRegistry,
+                3, 2, Duration.ofMinutes(1), 100, Duration.ofSeconds(10));
+
+        // lenient because the validation tests never reach the flusher
+        lenient().when(employeeService.saveEmployees(anyList())).thenAnswer((invocation) -> {
+            List<Employee> employees = invocation.getArgument(0);
+            synchronized (batchSizes) {
+                batchSizes.add(employees.size());
+            }
+            List<BulkCreateResult> results = new ArrayList<>();
+            for (int i = 0; i < employees.size(); i++) {
+                Employee employee = employees.get(i);
+                if (employee.getEmail().equals("taken@email.com")) {
+                    results.add(BulkCreateResult.rejected(i, BulkCreateResult.Status.DUPLICATE, employee, "duplicate"));
+                } else {
+                    results.add(BulkCreateResult.created(i, Employee.builder().id(100L + i).email(employee.getEmail()).build()));
+                }
+            }
+            return results;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        employeeWriteBehindService.shutdown();
+    }
+
+    // JUnit test for enqueue method
+    @DisplayName("JUnit test for enqueue method")
+    @Test
+    public void givenEmployees_whenEnqueue_thenFlusherWritesThemAndReportsOutcome() throws Exception {
+
+        // given - precondition or setup
+        employeeWriteBehindService.start();
+
+        // when - action or behaviour that we are going test
+        PendingCreate created = employeeWriteBehindService.enqueue(employee("onur@email.com"));
+        PendingCreate duplicate = employeeWriteBehindService.enqueue(employee("taken@email.com"));
+
+        // then - verify the output
+        created.getCompletion().get(5, TimeUnit.SECONDS);
+        duplicate.getCompletion().get(5, TimeUnit.SECONDS);
+        Assertions.assertThat(created.getStatus()).isEqualTo(PendingCreate.Status.CREATED);
+        Assertions.assertThat(created.getEmployeeId()).isNotNull();
+        Assertions.assertThat(duplicate.getStatus()).isEqualTo(PendingCreate.Status.DUPLICATE);
+        Assertions.assertThat(employeeWriteBehindService.getPendingCreate(created.getId())).containsSame(created);
+        Assertions.assertThat(meterRegistry.get("employees.async.create.queue.depth").gauge().value()).isZero();
+    }
+
+    // JUnit test for enqueue method with missing fields
+    @DisplayName("JUnit test for enqueue method with missing fields")
+    @Test
+    public void givenEmployeeWithoutEmail_whenEnqueue_thenThrowsBadRequest() {
+
+        // given - precondition or setup
+        Employee employee = Employee.builder().firstName("Onur").lastName("Haktan").build();
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> employeeWriteBehindService.enqueue(employee))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // JUnit test for enqueue method with a full queue
+    @DisplayName("JUnit test for enqueue method with a full queue")
+    @Test
+    public void givenFullQueue_whenEnqueue_thenThrowsServiceUnavailable() {
+
+        // given - precondition or setup
+        // the flusher is not started, so nothing leaves the queue
+        for (int i = 0; i < 3; i++) {
+            employeeWriteBehindService.enqueue(employee("employee" + i + "@email.com"));
+        }
+
+        // when - action or behaviour that we are going test
+        // then - verify the output
+        Assertions.assertThatThrownBy(() -> employeeWriteBehindService.enqueue(employee("onur@email.com")))
+                .isInstanceOf(ServiceUnavailableException.class);
+        Assertions.assertThat(meterRegistry.get("employees.async.create.queue.depth").gauge().value()).isEqualTo(3);
+        Assertions.assertThat(meterRegistry.get("employees.async.create.rejections").counter().count()).isEqualTo(1);
+    }
+
+    // JUnit test for shutdown method
+    @DisplayName("JUnit test for shutdown method")
+    @Test
+    public void givenQueuedEmployees_whenShutdown_thenQueueIsDrainedAndNewCreatesRefused() throws Exception {
+
+        // given - precondition or setup
+        List<PendingCreate> pendingCreates = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            pendingCreates.add(employeeWriteBehindService.enqueue(employee("employee" + i + "@email.com")));
+        }
+        employeeWriteBehindService.start();
+
+        // when - action or behaviour that we are going test
+        employeeWriteBehindService.shutdown();
+
+        // then - verify the output
+        Assertions.assertThat(pendingCreates)
+                .extracting(PendingCreate::getStatus)
+                .containsOnly(PendingCreate.Status.CREATED);
+        Assertions.assertThat(batchSizes).containsExactly(2, 1);
+        Assertions.assertThatThrownBy(() -> employeeWriteBehindService.enqueue(employee("onur@email.com")))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder().firstName("Onur").lastName("Haktan").email(email).build();
+    }
+}